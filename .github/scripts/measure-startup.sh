@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Starts the service RUNS times and records the median time until the readiness probe answers.
+#   measure-startup.sh <name> <command...>
+# Appends {"name", "unit", "value"} to build/results/startup/startup.json (github-action-benchmark
+# customSmallerIsBetter format).
+set -euo pipefail
+
+name=$1
+shift
+runs=${RUNS:-3}
+url=${READINESS_URL:-http://localhost:8901/actuator/health/readiness}
+results=build/results/startup/startup.json
+
+mkdir -p "$(dirname "$results")"
+[ -f "$results" ] || echo '[]' > "$results"
+
+timings=()
+for run in $(seq "$runs"); do
+  start=$(date +%s%N)
+  "$@" > "build/results/startup/$name-$run.log" 2>&1 &
+  pid=$!
+  until curl -sf "$url" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "$name exited before becoming ready" >&2
+      cat "build/results/startup/$name-$run.log" >&2
+      exit 1
+    fi
+    if [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge 120 ]; then
+      echo "$name not ready after 120s" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  timings+=($(( ($(date +%s%N) - start) / 1000000 )))
+  kill "$pid"
+  wait "$pid" || true
+  echo "$name run $run: ${timings[-1]} ms"
+done
+
+median=$(printf '%s\n' "${timings[@]}" | sort -n | sed -n "$(( (runs + 1) / 2 ))p")
+echo "$name median: $median ms"
+jq --arg name "$name" --argjson value "$median" \
+  '. + [{name: $name, unit: "ms", value: $value}]' "$results" > "$results.tmp"
+mv "$results.tmp" "$results"
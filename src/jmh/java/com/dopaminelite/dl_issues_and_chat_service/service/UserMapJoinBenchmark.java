@@ -0,0 +1,79 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapJoinBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int messageCount;
+
+    @Param({"2", "20"})
+    public int participants;
+
+    private Issue issue;
+    private List<IssueMessage> messages;
+    private Map<UUID, UserInfo> userMap;
+
+    @Setup
+    public void setUp() {
+        List<UUID> users = new ArrayList<>(participants);
+        userMap = new HashMap<>();
+        for (int i = 0; i < participants; i++) {
+            UUID id = UUID.randomUUID();
+            users.add(id);
+            userMap.put(id, new UserInfo(id, "User " + i, null, null, null));
+        }
+
+        issue = Issue.builder()
+                .id(UUID.randomUUID())
+                .studentId(users.get(0))
+                .assignedAdminId(users.get(participants - 1))
+                .status(IssueStatus.SOLVED)
+                .build();
+
+        messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(IssueMessage.builder()
+                    .id(UUID.randomUUID())
+                    .issueId(issue.getId())
+                    .senderId(users.get(i % participants))
+                    .senderRole(i % 2 == 0 ? Role.STUDENT : Role.ADMIN)
+                    .content("m" + i)
+                    .createdAt(Instant.EPOCH.plusSeconds(i))
+                    .build());
+        }
+    }
+
+    // Distinct user ids collected for the user-service batch call
+    @Benchmark
+    public List<UUID> collectUserIds() {
+        return IssueService.collectUserIds(issue, messages);
+    }
+
+    // Collect + resolve a display name per message, as the report renderer does
+    @Benchmark
+    public void collectAndResolveNames(Blackhole bh) {
+        bh.consume(IssueService.collectUserIds(issue, messages));
+        for (IssueMessage m : messages) {
+            UserInfo u = userMap.get(m.getSenderId());
+            bh.consume(u != null && u.getFullName() != null ? u.getFullName() : "Unknown User");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.kernel.font.PdfFont;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FontLoadingBenchmark {
+
+    @Param({"fonts/NotoSans-Regular.ttf", "fonts/NotoSansSinhala-Regular.ttf"})
+    public String resourcePath;
+
+    private FontProgram sharedProgram;
+
+    @Setup
+    public void setUp() {
+        sharedProgram = PdfGenerator.loadFontProgram(resourcePath);
+    }
+
+    // What every report paid before font programs were shared: classpath read + parse
+    @Benchmark
+    public FontProgram loadAndParse() {
+        return PdfGenerator.loadFontProgram(resourcePath);
+    }
+
+    // What every report pays now: a document-bound PdfFont over the shared program
+    @Benchmark
+    public PdfFont createDocumentFont() {
+        return PdfGenerator.createFont(sharedProgram);
+    }
+}
@@ -0,0 +1,92 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfGeneratorBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int messageCount;
+
+    @Param({"LATIN", "SINHALA", "MIXED"})
+    public String script;
+
+    private Issue issue;
+    private List<IssueMessage> messages;
+    private Map<UUID, UserInfo> userMap;
+
+    @Setup
+    public void setUp() {
+        UUID studentId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        Instant start = Instant.parse("2025-01-01T08:00:00Z");
+
+        issue = Issue.builder()
+                .id(UUID.randomUUID())
+                .issueNumber(1042L)
+                .title("Payment deducted twice")
+                .description("My card was charged twice for the same course")
+                .studentId(studentId)
+                .assignedAdminId(adminId)
+                .status(IssueStatus.SOLVED)
+                .assignmentStatus(IssueAssignmentStatus.ASSIGNED)
+                .isChatReadOnly(true)
+                .createdAt(start)
+                .updatedAt(start)
+                .solvedAt(start.plus(messageCount, ChronoUnit.MINUTES))
+                .build();
+
+        messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            boolean admin = i % 2 == 1;
+            messages.add(IssueMessage.builder()
+                    .id(UUID.randomUUID())
+                    .issueId(issue.getId())
+                    .senderId(admin ? adminId : studentId)
+                    .senderRole(admin ? Role.ADMIN : Role.STUDENT)
+                    .content(content(admin))
+                    .createdAt(start.plus(i, ChronoUnit.MINUTES))
+                    .build());
+        }
+
+        userMap = new HashMap<>();
+        userMap.put(studentId, new UserInfo(studentId, "Student User", null, null, null));
+        userMap.put(adminId, new UserInfo(adminId, "Admin User", null, null, null));
+    }
+
+    private String content(boolean admin) {
+        return switch (script) {
+            case "LATIN" -> admin
+                    ? "We have refunded the duplicate charge, please check again."
+                    : "My payment was deducted twice, please check the receipt.";
+            case "SINHALA" -> admin
+                    ? "අපි අමතර ගෙවීම ආපසු ලබා දී ඇත, කරුණාකර නැවත පරීක්ෂා කරන්න."
+                    : "මගේ ගෙවීම දෙවරක් අඩු කර ඇත, කරුණාකර පරීක්ෂා කරන්න.";
+            default -> admin
+                    ? "We have refunded the duplicate charge, කරුණාකර නැවත check කරන්න."
+                    : "මගේ ගෙවීම දෙවරක් අඩු කර ඇත, please check the receipt.";
+        };
+    }
+
+    @Benchmark
+    public byte[] generateIssueReport() {
+        return PdfGenerator.generateIssueReport(issue, messages, userMap);
+    }
+}
@@ -0,0 +1,62 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScriptSegmenterBenchmark {
+
+    @Param({"LATIN", "SINHALA", "MIXED"})
+    public String script;
+
+    @Param({"64", "4096"})
+    public int length;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String sample = switch (script) {
+            case "LATIN" -> "Payment was deducted twice, please check the receipt. ";
+            case "SINHALA" -> "මගේ ගෙවීම දෙවරක් අඩු කර ඇත, කරුණාකර පරීක්ෂා කරන්න. ";
+            default -> "Payment ගෙවීම twice දෙවරක්, receipt 2 කරුණාකර check කරන්න. ";
+        };
+        StringBuilder sb = new StringBuilder(length + sample.length());
+        while (sb.length() < length) {
+            sb.append(sample);
+        }
+        text = sb.substring(0, length);
+    }
+
+    @Benchmark
+    public void segment(Blackhole bh) {
+        for (ScriptSegmenter.Run run : ScriptSegmenter.segment(text)) {
+            bh.consume(text.substring(run.start(), run.end()));
+        }
+    }
+
+    // The previous char-by-char implementation, kept as the baseline for comparison
+    @Benchmark
+    public void legacyCharScan(Blackhole bh) {
+        StringBuilder buf = new StringBuilder();
+        boolean sinhalaRun = isSinhala(text.charAt(0));
+        for (char c : text.toCharArray()) {
+            boolean sinhala = isSinhala(c);
+            if (sinhala != sinhalaRun) {
+                bh.consume(buf.toString());
+                buf.setLength(0);
+                sinhalaRun = sinhala;
+            }
+            buf.append(c);
+        }
+        bh.consume(buf.toString());
+    }
+
+    private static boolean isSinhala(char c) {
+        return c >= '\u0D80' && c <= '\u0DFF';
+    }
+}
@@ -0,0 +1,117 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueMessageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures message inserts per second against a real Postgres, once per persistence profile.
+ * Results are printed and appended to {@code build/results/loadTest/message-inserts.csv}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+abstract class AbstractMessageInsertLoadTest {
+
+    private static final int THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 2_000;
+    private static final int BATCHES = 40;
+    private static final int BATCH_SIZE = 500;
+    private static final Path RESULTS = Path.of("build", "results", "loadTest", "message-inserts.csv");
+
+    // One container for every profile run in this JVM
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = LoadTestPostgres.CONTAINER;
+
+    @Autowired
+    private IssueMessageService issueMessageService;
+
+    @Autowired
+    private IssueMessageRepository issueMessageRepository;
+
+    protected abstract String profileName();
+
+    @Test
+    void messageInsertThroughput() throws Exception {
+        // Warm up connections, JIT and statement caches
+        runConcurrent(UUID.randomUUID(), 2, 200);
+
+        UUID issueId = UUID.randomUUID();
+        Instant since = IssueMessageRepository.earliestMessageTime(Instant.now());
+        double perMessage = runConcurrent(issueId, THREADS, MESSAGES_PER_THREAD);
+        double batched = runBatched(issueId);
+
+        assertEquals((long) THREADS * MESSAGES_PER_THREAD + (long) BATCHES * BATCH_SIZE,
+                issueMessageRepository.countByIssueIdAndCreatedAtGreaterThanEqual(issueId, since));
+
+        report("createMessage x" + THREADS + " threads", perMessage);
+        report("saveAll batches of " + BATCH_SIZE, batched);
+    }
+
+    private double runConcurrent(UUID issueId, int threads, int messagesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                UUID senderId = UUID.randomUUID();
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < messagesPerThread; i++) {
+                        issueMessageService.createMessage(issueId, "load test message " + i, null,
+                                senderId, Role.STUDENT.name());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) threads * messagesPerThread / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double runBatched(UUID issueId) {
+        UUID senderId = UUID.randomUUID();
+        long start = System.nanoTime();
+        for (int b = 0; b < BATCHES; b++) {
+            List<IssueMessage> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(IssueMessage.builder()
+                        .issueId(issueId)
+                        .senderId(senderId)
+                        .senderRole(Role.ADMIN)
+                        .content("batched load test message " + i)
+                        .createdAt(Instant.now())
+                        .build());
+            }
+            issueMessageRepository.saveAll(batch);
+        }
+        return (double) BATCHES * BATCH_SIZE / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void report(String mode, double messagesPerSecond) throws IOException {
+        System.out.printf("[load-test] profile=%s mode=%s messages/sec=%.0f%n", profileName(), mode, messagesPerSecond);
+        Files.createDirectories(RESULTS.getParent());
+        Files.writeString(RESULTS, String.format("%s,%s,%.0f%n", profileName(), mode, messagesPerSecond),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
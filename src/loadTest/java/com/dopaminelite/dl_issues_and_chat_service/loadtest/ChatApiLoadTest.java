@@ -0,0 +1,333 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+import com.dopaminelite.dl_issues_and_chat_service.config.MessageReplayInterceptor;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEnvelope;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketSendMessagePayload;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the REST and STOMP APIs the way the web clients do: students open an issue and chat
+ * over SockJS, admins pick issues up from the open list, reply, solve them and download the
+ * report. Each user runs on its own virtual thread.
+ *
+ * <p>Sizing comes from the {@code load.students}, {@code load.admins}, {@code load.messages}
+ * and {@code load.think-ms} system properties (Gradle passes {@code -Pload.*} through).
+ * p50/p99/max and throughput per endpoint and message type are printed and appended to
+ * {@code build/results/loadTest/chat-api.csv}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Nothing listens here: report lookups fail fast and the circuit opens
+        "user.service.url=http://127.0.0.1:9",
+        "messages.archive.enabled=false",
+        "management.otlp.tracing.export.enabled=false"
+})
+class ChatApiLoadTest {
+
+    private static final int STUDENTS = Integer.getInteger("load.students", 50);
+    private static final int ADMINS = Integer.getInteger("load.admins", 5);
+    private static final int MESSAGES = Integer.getInteger("load.messages", 20);
+    private static final long THINK_MILLIS = Long.getLong("load.think-ms", 20);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Path RESULTS = Path.of("build", "results", "loadTest", "chat-api.csv");
+
+    private static final String CONNECT = "STOMP CONNECT";
+    private static final String ECHO = "STOMP SEND -> own broadcast";
+    private static final String PEER = "STOMP broadcast -> peer";
+
+    private static final Conversation DONE = new Conversation(null, null);
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = LoadTestPostgres.CONTAINER;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String baseUrl;
+    private HttpClient http;
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/issues-service";
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        http.close();
+    }
+
+    @Test
+    void chatAndRestWorkload() throws Exception {
+        // Warm up connections, JIT and caches with a small run that is not reported
+        new Workload(Math.min(STUDENTS, 5), 1, Math.min(MESSAGES, 5)).run(new LatencyRecorder());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        new Workload(STUDENTS, ADMINS, MESSAGES).run(recorder);
+
+        recorder.report(STUDENTS + " students " + ADMINS + " admins " + MESSAGES + " messages", RESULTS);
+        assertEquals(0, recorder.failures(), "Some operations failed; see the table above");
+    }
+
+    private JsonNode call(String method, String path, Object body, int expectedStatus) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode());
+        }
+        boolean json = response.headers().firstValue("Content-Type")
+                .filter(type -> type.contains("json"))
+                .isPresent();
+        return json ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private record Conversation(UUID issueId, CountDownLatch studentDone) {
+    }
+
+    private interface UserFlow {
+        void run() throws Exception;
+    }
+
+    /**
+     * One run of all students and admins. Students hand their issue to the admins as soon as
+     * it is created, so both sides chat at the same time.
+     */
+    private final class Workload {
+
+        private final int students;
+        private final int admins;
+        private final int messages;
+        private final BlockingQueue<Conversation> unassigned = new LinkedBlockingQueue<>();
+        // Send time of every message by its content, for the latency of its broadcasts
+        private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+        private LatencyRecorder recorder;
+
+        Workload(int students, int admins, int messages) {
+            this.students = students;
+            this.admins = admins;
+            this.messages = messages;
+        }
+
+        void run(LatencyRecorder recorder) throws Exception {
+            this.recorder = recorder;
+            try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+                recorder.start();
+                List<Future<?>> studentRuns = new ArrayList<>();
+                for (int i = 0; i < students; i++) {
+                    studentRuns.add(users.submit(() -> user("student", this::student)));
+                }
+                List<Future<?>> adminRuns = new ArrayList<>();
+                for (int i = 0; i < admins; i++) {
+                    adminRuns.add(users.submit(() -> user("admin", this::admin)));
+                }
+                for (Future<?> run : studentRuns) {
+                    run.get();
+                }
+                for (int i = 0; i < admins; i++) {
+                    unassigned.add(DONE);
+                }
+                for (Future<?> run : adminRuns) {
+                    run.get();
+                }
+                recorder.stop();
+            }
+        }
+
+        private void user(String role, UserFlow flow) {
+            try {
+                flow.run();
+            } catch (Exception e) {
+                recorder.failed(role + " aborted");
+                System.out.printf("[load-test] %s aborted: %s%n", role, e);
+            }
+        }
+
+        private void student() throws Exception {
+            UUID studentId = UUID.randomUUID();
+            JsonNode issue = recorder.time("POST /issues", () -> call("POST", "/issues", Map.of(
+                    "studentId", studentId,
+                    "title", "Load test issue",
+                    "description", "Opened by ChatApiLoadTest"), 201));
+            UUID issueId = UUID.fromString(issue.get("id").asText());
+            Conversation conversation = new Conversation(issueId, new CountDownLatch(1));
+
+            try (Participant participant = new Participant(studentId, Role.STUDENT, issueId)) {
+                unassigned.add(conversation);
+                participant.chat(messages);
+                recorder.time("GET /issues/{id}/messages",
+                        () -> call("GET", "/issues/" + issueId + "/messages?limit=50", null, 200));
+                recorder.time("GET /issues?studentId",
+                        () -> call("GET", "/issues?view=summary&studentId=" + studentId, null, 200));
+            } finally {
+                conversation.studentDone().countDown();
+            }
+        }
+
+        private void admin() throws Exception {
+            UUID adminId = UUID.randomUUID();
+            Conversation conversation;
+            while ((conversation = unassigned.take()) != DONE) {
+                UUID issueId = conversation.issueId();
+                recorder.time("GET /issues?status=OPEN",
+                        () -> call("GET", "/issues?view=summary&status=OPEN&limit=20", null, 200));
+                recorder.time("POST /issues/{id}/assign",
+                        () -> call("POST", "/issues/" + issueId + "/assign", Map.of("adminId", adminId), 200));
+
+                try (Participant participant = new Participant(adminId, Role.ADMIN, issueId)) {
+                    participant.chat(Math.max(messages / 2, 1));
+                    // Solving makes the chat read-only, so let the student finish first
+                    if (!conversation.studentDone().await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                        throw new TimeoutException("Student of issue " + issueId + " did not finish");
+                    }
+                }
+
+                recorder.time("PATCH /issues/{id}/status",
+                        () -> call("PATCH", "/issues/" + issueId + "/status", Map.of("status", "SOLVED"), 200));
+                recorder.time("GET /issues/{id}/report",
+                        () -> call("GET", "/issues/" + issueId + "/report", null, 200));
+            }
+        }
+
+        /**
+         * A STOMP session subscribed to one issue's topic. Messages are matched to their send
+         * by content, so the same frame yields the sender's echo latency and every other
+         * subscriber's delivery latency.
+         */
+        private final class Participant implements StompFrameHandler, AutoCloseable {
+
+            private final UUID userId;
+            private final Role role;
+            private final UUID issueId;
+            private final StompSession session;
+            private final Set<String> received = ConcurrentHashMap.newKeySet();
+            private final Semaphore echoes = new Semaphore(0);
+
+            Participant(UUID userId, Role role, UUID issueId) throws Exception {
+                this.userId = userId;
+                this.role = role;
+                this.issueId = issueId;
+                this.session = recorder.time(CONNECT, () -> stompClient
+                        .connectAsync(baseUrl + "/ws", new StompSessionHandlerAdapter() {
+                        })
+                        .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+                StompHeaders subscribe = new StompHeaders();
+                subscribe.setDestination("/topic/issues/" + issueId);
+                // SUBSCRIBE and the first SEND may be handled on different inbound threads;
+                // anything broadcast before the subscription is registered is replayed
+                subscribe.set(MessageReplayInterceptor.LAST_SEEN_AT_HEADER, Instant.now().toString());
+                session.subscribe(subscribe, this);
+            }
+
+            void chat(int count) throws Exception {
+                for (int i = 0; i < count; i++) {
+                    Thread.sleep(THINK_MILLIS);
+                    StompHeaders send = new StompHeaders();
+                    send.setDestination("/app/issues/" + issueId + "/send");
+                    send.set("x-sender-id", userId.toString());
+                    send.set("x-sender-role", role.name());
+                    String content = "load " + UUID.randomUUID();
+                    sentAt.put(content, System.nanoTime());
+                    session.send(send, WebSocketSendMessagePayload.builder().content(content).build());
+                }
+                if (!echoes.tryAcquire(count, TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                    for (int missing = count - echoes.drainPermits(); missing > 0; missing--) {
+                        recorder.failed(ECHO);
+                    }
+                }
+            }
+
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return WebSocketMessageEnvelope.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long now = System.nanoTime();
+                WebSocketMessageEnvelope envelope = (WebSocketMessageEnvelope) payload;
+                if (!"MESSAGE".equals(envelope.getType()) || !(envelope.getPayload() instanceof Map<?, ?> message)) {
+                    return;
+                }
+                String content = String.valueOf(message.get("content"));
+                Long sent = sentAt.get(content);
+                // A replayed frame and its live broadcast can both arrive
+                if (sent == null || !received.add(content)) {
+                    return;
+                }
+                if (userId.toString().equals(message.get("senderId"))) {
+                    recorder.record(ECHO, now - sent);
+                    echoes.release();
+                } else {
+                    recorder.record(PEER, now - sent);
+                }
+            }
+
+            @Override
+            public void close() {
+                session.disconnect();
+            }
+        }
+    }
+}
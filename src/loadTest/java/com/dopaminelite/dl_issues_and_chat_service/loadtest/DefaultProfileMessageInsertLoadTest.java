@@ -0,0 +1,12 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+/**
+ * Baseline: the persistence settings from application.properties only.
+ */
+class DefaultProfileMessageInsertLoadTest extends AbstractMessageInsertLoadTest {
+
+    @Override
+    protected String profileName() {
+        return "default";
+    }
+}
@@ -0,0 +1,119 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Collects per-operation latencies and failures from many concurrent users and reports
+ * p50/p99/max and throughput over the run's wall-clock time.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> operations = new ConcurrentSkipListMap<>();
+    private long startNanos;
+    private long endNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    <T> T time(String operation, Callable<T> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            record(operation, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            failed(operation);
+            throw e;
+        }
+    }
+
+    void record(String operation, long nanos) {
+        samples(operation).add(nanos);
+    }
+
+    void failed(String operation) {
+        samples(operation).fail();
+    }
+
+    long failures() {
+        return operations.values().stream().mapToLong(Samples::failures).sum();
+    }
+
+    void report(String run, Path csv) throws IOException {
+        double seconds = (endNanos - startNanos) / 1e9;
+        System.out.printf("[load-test] run=%s duration=%.1fs%n", run, seconds);
+        System.out.printf("[load-test] %-32s %8s %9s %9s %9s %9s %8s%n",
+                "operation", "count", "p50 ms", "p99 ms", "max ms", "ops/sec", "failed");
+        StringBuilder rows = new StringBuilder();
+        operations.forEach((operation, samples) -> {
+            long[] sorted = samples.sorted();
+            double p50 = millis(percentile(sorted, 50));
+            double p99 = millis(percentile(sorted, 99));
+            double max = millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+            double throughput = sorted.length / seconds;
+            System.out.printf("[load-test] %-32s %8d %9.1f %9.1f %9.1f %9.1f %8d%n",
+                    operation, sorted.length, p50, p99, max, throughput, samples.failures());
+            rows.append(String.format("%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%d%n",
+                    run, operation, sorted.length, p50, p99, max, throughput, samples.failures()));
+        });
+        Files.createDirectories(csv.getParent());
+        Files.writeString(csv, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Samples samples(String operation) {
+        return operations.computeIfAbsent(operation, key -> new Samples());
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[256];
+        private int size;
+        private long failures;
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized void fail() {
+            failures++;
+        }
+
+        synchronized long failures() {
+            return failures;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
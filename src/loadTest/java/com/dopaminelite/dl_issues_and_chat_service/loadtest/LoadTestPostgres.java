@@ -0,0 +1,18 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The Postgres container shared by every load test in this JVM, started on first use.
+ */
+final class LoadTestPostgres {
+
+    static final PostgreSQLContainer<?> CONTAINER = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        CONTAINER.start();
+    }
+
+    private LoadTestPostgres() {
+    }
+}
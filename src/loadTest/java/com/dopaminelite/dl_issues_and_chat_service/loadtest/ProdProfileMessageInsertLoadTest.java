@@ -0,0 +1,16 @@
+package com.dopaminelite.dl_issues_and_chat_service.loadtest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Same workload with application-prod.properties (JDBC batching, reWriteBatchedInserts,
+ * statement caching, sized pool).
+ */
+@ActiveProfiles("prod")
+class ProdProfileMessageInsertLoadTest extends AbstractMessageInsertLoadTest {
+
+    @Override
+    protected String profileName() {
+        return "prod";
+    }
+}
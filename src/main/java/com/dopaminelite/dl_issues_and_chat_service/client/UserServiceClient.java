@@ -3,6 +3,11 @@ package com.dopaminelite.dl_issues_and_chat_service.client;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UserBatchRequest;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UserBatchResponse;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.logging.SampledLogTurboFilter;
+import com.dopaminelite.dl_issues_and_chat_service.utils.CircuitBreaker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -10,8 +15,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,19 +27,34 @@ import java.util.stream.Collectors;
 public class UserServiceClient {
 
     private final RestTemplate restTemplate;
-    private final String userServiceUrl;
+    private final String batchUrl;
     private final String serviceToken;
     private final String serviceName;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final CircuitBreaker circuitBreaker;
 
     public UserServiceClient(
             RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
             @Value("${user.service.url:https://dev-api.gingerbreaddopamine.com}") String userServiceUrl,
             @Value("${user.service.token:change-me-in-production}") String serviceToken,
-            @Value("${user.service.name:issues-service}") String serviceName) {
+            @Value("${user.service.name:issues-service}") String serviceName,
+            @Value("${user.service.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${user.service.circuit.open-seconds:30}") int openSeconds) {
         this.restTemplate = restTemplate;
-        this.userServiceUrl = userServiceUrl;
+        this.batchUrl = userServiceUrl + "/users/public/batch";
         this.serviceToken = serviceToken;
         this.serviceName = serviceName;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("user.service.batch.size")
+                .description("User ids requested per batch lookup")
+                .register(meterRegistry);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
     }
 
     public Map<UUID, UserInfo> fetchUsersByIds(List<UUID> userIds) {
@@ -41,9 +63,17 @@ public class UserServiceClient {
             return Collections.emptyMap();
         }
 
-        try {
-            String url = userServiceUrl + "/users/public/batch";
+        // Callers already degrade to "Unknown" names, so fail fast while the service is down
+        if (!circuitBreaker.tryAcquire()) {
+            log.warn("User service circuit is open; skipping lookup of {} users", userIds.size());
+            meterRegistry.counter("user.service.requests.rejected", "operation", "fetchUsersByIds").increment();
+            return Collections.emptyMap();
+        }
 
+        batchSize.record(userIds.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
             HttpHeaders headers = new HttpHeaders();
             headers.set("X-Service-Token", serviceToken);
             headers.set("X-Service-Name", serviceName);
@@ -52,10 +82,9 @@ public class UserServiceClient {
             UserBatchRequest request = new UserBatchRequest(userIds);
             HttpEntity<UserBatchRequest> entity = new HttpEntity<>(request, headers);
 
-            log.info("Fetching {} users from user service: {}", userIds.size(), userIds);
-            log.info("Using URL: {}", url);
+            log.debug(SampledLogTurboFilter.SAMPLED, "Fetching {} users from {}", userIds.size(), batchUrl);
             ResponseEntity<UserBatchResponse> response = restTemplate.exchange(
-                    url,
+                    batchUrl,
                     HttpMethod.POST,
                     entity,
                     UserBatchResponse.class
@@ -64,16 +93,31 @@ public class UserServiceClient {
             if (response.getBody() != null && response.getBody().isSuccess()) {
                 Map<UUID, UserInfo> userMap = response.getBody().getData().stream()
                         .collect(Collectors.toMap(UserInfo::getId, user -> user));
-                log.info("Successfully fetched {} users from API", userMap.size());
-                userMap.forEach((id, user) -> log.info("User fetched: {} -> {}", id, user.getFullName()));
+                log.debug(SampledLogTurboFilter.SAMPLED, "Fetched {} of {} requested users", userMap.size(), userIds.size());
+                if (log.isTraceEnabled()) {
+                    userMap.forEach((id, user) -> log.trace("User fetched: {} -> {}", id, user.getFullName()));
+                }
+                outcome = "success";
+                circuitBreaker.onSuccess();
                 return userMap;
             }
 
             log.error("Failed to fetch users: response was not successful. Response body: {}", response.getBody());
+            outcome = "unsuccessful";
+            circuitBreaker.onSuccess();
+            return Collections.emptyMap();
+        } catch (HttpClientErrorException e) {
+            // A 4xx means the service is up and rejected this request
+            log.error("User service rejected the lookup: {}", e.getMessage());
+            outcome = "rejected";
+            circuitBreaker.onSuccess();
             return Collections.emptyMap();
         } catch (Exception e) {
             log.error("Error fetching users from user service: {}", e.getMessage(), e);
+            circuitBreaker.onFailure();
             return Collections.emptyMap();
+        } finally {
+            sample.stop(meterRegistry.timer("user.service.requests", "operation", "fetchUsersByIds", "outcome", outcome));
         }
     }
 }
@@ -0,0 +1,49 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the current trace context as native headers to messages the application sends to the
+ * broker. The simple broker copies native headers onto every subscriber's MESSAGE frame, so
+ * clients see the {@code traceparent} of the send that caused a broadcast.
+ *
+ * <p>The broker channel has no executor, so {@code preSend} runs on the sending thread while
+ * its span is still current.
+ */
+@Component
+public class BroadcastTracingInterceptor implements ChannelInterceptor {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Autowired
+    public BroadcastTracingInterceptor(Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this(tracer, propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
+
+    BroadcastTracingInterceptor(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context == null) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        propagator.inject(context, accessor, (carrier, key, value) -> carrier.setNativeHeader(key, value));
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
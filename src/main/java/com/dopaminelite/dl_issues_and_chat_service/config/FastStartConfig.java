@@ -0,0 +1,29 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Startup tuning for the fast-start profile (application-fast-start.properties).
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    // Left lazy, Hibernate and Flyway would start on the first request instead of during startup
+    @Bean
+    static LazyInitializationExcludeFilter eagerEntityManagerFactory() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class);
+    }
+
+    // The report executor is not an AsyncTaskExecutor, so Boot finds no bootstrap executor of its own
+    @Bean
+    EntityManagerFactoryBuilderCustomizer backgroundJpaBootstrap() {
+        return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEnvelope;
+import com.dopaminelite.dl_issues_and_chat_service.service.MessageReplayBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Replays missed messages to a subscriber of {@code /topic/issues/{issueId}} that sends a
+ * {@code last-seen-id} (message id) or {@code last-seen-at} (ISO-8601 instant or epoch
+ * millis) header with its SUBSCRIBE frame.
+ *
+ * <p>Any database read for the gap happens first, without a lock. The issue's replay lock is
+ * then taken just before the broker registers the subscription and released once the replay
+ * is queued, so no local broadcast falls between the two. Replayed frames
+ * are ordinary MESSAGE envelopes with a {@code replay: true} header; clients should still
+ * de-duplicate by message id, since a message saved but not yet broadcast can arrive both
+ * ways. When the gap is too long, a final {@code REPLAY_TRUNCATED} envelope tells the client
+ * to re-fetch the conversation over REST.
+ */
+@Component
+@Slf4j
+public class MessageReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String LAST_SEEN_ID_HEADER = "last-seen-id";
+    public static final String LAST_SEEN_AT_HEADER = "last-seen-at";
+    public static final String REPLAY_HEADER = "replay";
+
+    private static final String ISSUE_TOPIC_PREFIX = "/topic/issues/";
+
+    private final MessageReplayBuffer replayBuffer;
+    private final ObjectProvider<MessageChannel> clientOutboundChannel;
+    private final ObjectProvider<MessageConverter> messageConverter;
+
+    // Held from beforeHandle to afterMessageHandled, which run on the same executor thread
+    private final ThreadLocal<HeldReplay> heldReplay = new ThreadLocal<>();
+
+    public MessageReplayInterceptor(MessageReplayBuffer replayBuffer,
+                                    @Qualifier("clientOutboundChannel") ObjectProvider<MessageChannel> clientOutboundChannel,
+                                    @Qualifier("brokerMessageConverter") ObjectProvider<MessageConverter> messageConverter) {
+        this.replayBuffer = replayBuffer;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageConverter = messageConverter;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpleBrokerMessageHandler) {
+            ReplayRequest request = replayRequest(message);
+            if (request != null) {
+                MessageReplayBuffer.Pending pending;
+                try {
+                    pending = replayBuffer.prepare(request.issueId(), request.lastSeenId(), request.lastSeenAt());
+                } catch (RuntimeException e) {
+                    log.warn("Failed to read missed messages: {}", e.getMessage(), e);
+                    return message;
+                }
+                Lock lock = replayBuffer.lockFor(request.issueId());
+                lock.lock();
+                heldReplay.set(new HeldReplay(lock, pending));
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        HeldReplay held = heldReplay.get();
+        if (held == null || !(handler instanceof SimpleBrokerMessageHandler)) {
+            return;
+        }
+        heldReplay.remove();
+        try {
+            if (ex == null) {
+                replay(message, held.pending());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay missed messages: {}", e.getMessage(), e);
+        } finally {
+            held.lock().unlock();
+        }
+    }
+
+    // ===== HELPERS =====
+    private void replay(Message<?> subscribe, MessageReplayBuffer.Pending pending) {
+        MessageReplayBuffer.Replay replay = replayBuffer.missedSince(pending);
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(subscribe);
+        for (WebSocketMessageEnvelope envelope : replay.envelopes()) {
+            send(headers, envelope);
+        }
+        if (replay.truncated()) {
+            send(headers, WebSocketMessageEnvelope.builder()
+                    .type("REPLAY_TRUNCATED")
+                    .issueId(pending.issueId())
+                    .timestamp(Instant.now())
+                    .build());
+        }
+        if (!replay.envelopes().isEmpty()) {
+            log.debug("Replayed {} messages for issueId: {} to session {}",
+                    replay.envelopes().size(), pending.issueId(), headers.getSessionId());
+        }
+    }
+
+    private void send(SimpMessageHeaderAccessor subscribe, WebSocketMessageEnvelope envelope) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscribe.getSessionId());
+        accessor.setSubscriptionId(subscribe.getSubscriptionId());
+        accessor.setDestination(subscribe.getDestination());
+        accessor.setNativeHeader(REPLAY_HEADER, "true");
+        accessor.setLeaveMutable(true);
+        Message<?> message = messageConverter.getObject().toMessage(envelope, accessor.getMessageHeaders());
+        if (message != null) {
+            clientOutboundChannel.getObject().send(message);
+        }
+    }
+
+    static ReplayRequest replayRequest(Message<?> message) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(message);
+        String destination = headers.getDestination();
+        if (headers.getMessageType() != SimpMessageType.SUBSCRIBE
+                || destination == null || !destination.startsWith(ISSUE_TOPIC_PREFIX)) {
+            return null;
+        }
+        String lastSeenId = headers.getFirstNativeHeader(LAST_SEEN_ID_HEADER);
+        String lastSeenAt = headers.getFirstNativeHeader(LAST_SEEN_AT_HEADER);
+        if (lastSeenId == null && lastSeenAt == null) {
+            return null;
+        }
+        try {
+            return new ReplayRequest(
+                    UUID.fromString(destination.substring(ISSUE_TOPIC_PREFIX.length())),
+                    lastSeenId != null ? UUID.fromString(lastSeenId) : null,
+                    lastSeenAt != null ? parseInstant(lastSeenAt) : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.debug("Ignoring replay headers on {}: {}", destination, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        return value.chars().allMatch(Character::isDigit)
+                ? Instant.ofEpochMilli(Long.parseLong(value))
+                : Instant.parse(value);
+    }
+
+    record ReplayRequest(UUID issueId, UUID lastSeenId, Instant lastSeenAt) {
+    }
+
+    private record HeldReplay(Lock lock, MessageReplayBuffer.Pending pending) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.ArchivedMessage;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserBatchRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserBatchResponse;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketIssueStatusUpdatePayload;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEnvelope;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEventPayload;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * GraalVM native-image hints for what AOT processing cannot see: JSON types that do not appear
+ * in a controller signature (STOMP broadcasts, user-service calls, archive payloads) and
+ * resources read directly from the classpath.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ResourceHints.class)
+@RegisterReflectionForBinding({
+        WebSocketMessageEnvelope.class,
+        WebSocketMessageEventPayload.class,
+        WebSocketIssueStatusUpdatePayload.class,
+        UserBatchRequest.class,
+        UserBatchResponse.class,
+        UserInfo.class,
+        ArchivedMessage.class
+})
+public class NativeHintsConfig {
+
+    static class ResourceHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // PdfGenerator loads its fonts with getResourceAsStream on the first report
+            hints.resources().registerPattern("fonts/*.ttf");
+        }
+    }
+}
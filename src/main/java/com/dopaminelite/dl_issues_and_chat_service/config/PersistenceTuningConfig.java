@@ -0,0 +1,39 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Profile("prod")
+@Slf4j
+public class PersistenceTuningConfig {
+
+    static final String POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+
+    // Sizes the Hikari pool from the core count unless maximum-pool-size is set explicitly
+    @Bean
+    static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && !environment.containsProperty(POOL_SIZE_PROPERTY)) {
+                    int poolSize = poolSizeFor(Runtime.getRuntime().availableProcessors());
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                    log.info("Sized Hikari pool '{}' to {} connections", beanName, poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // (cores * 2) + 1: enough to overlap I/O waits without queueing work inside Postgres
+    static int poolSizeFor(int cores) {
+        return cores * 2 + 1;
+    }
+}
@@ -0,0 +1,9 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,77 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles each STOMP SEND frame routed to a {@code @MessageMapping} method in a span that
+ * continues the trace of the frame's {@code traceparent} header, when the client sends one.
+ * Spans created while the message is handled (persist, broadcast) become its children.
+ */
+@Component
+public class StompTracingInterceptor implements ExecutorChannelInterceptor {
+
+    private static final Propagator.Getter<Message<?>> NATIVE_HEADER_GETTER =
+            (carrier, key) -> SimpMessageHeaderAccessor.wrap(carrier).getFirstNativeHeader(key);
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    // Opened in beforeHandle and closed in afterMessageHandled, on the same executor thread
+    private final ThreadLocal<HandledSpan> current = new ThreadLocal<>();
+
+    // With tracing disabled (e.g. in tests) Boot provides a no-op tracer but no propagator
+    @Autowired
+    public StompTracingInterceptor(Tracer tracer, ObjectProvider<Propagator> propagator) {
+        this(tracer, propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
+
+    StompTracingInterceptor(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Span span = propagator.extract(message, NATIVE_HEADER_GETTER)
+                .name("chat.stomp.send")
+                .kind(Span.Kind.CONSUMER)
+                .tag("stomp.destination", destination != null ? destination : "unknown")
+                .start();
+        current.set(new HandledSpan(span, tracer.withSpan(span)));
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        HandledSpan handled = current.get();
+        if (handled == null || !(handler instanceof SimpAnnotationMethodMessageHandler)) {
+            return;
+        }
+        current.remove();
+        if (ex != null) {
+            handled.span().error(ex);
+        }
+        handled.scope().close();
+        handled.span().end();
+    }
+
+    private record HandledSpan(Span span, Tracer.SpanInScope scope) {
+    }
+}
@@ -1,25 +1,99 @@
 package com.dopaminelite.dl_issues_and_chat_service.config;
 
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketDrainCoordinator;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketDrainCoordinator drainCoordinator;
+    private final MessageReplayInterceptor replayInterceptor;
+    private final StompTracingInterceptor tracingInterceptor;
+    private final BroadcastTracingInterceptor broadcastTracingInterceptor;
+
+    public WebSocketConfig(WebSocketDrainCoordinator drainCoordinator,
+                           MessageReplayInterceptor replayInterceptor,
+                           StompTracingInterceptor tracingInterceptor,
+                           BroadcastTracingInterceptor broadcastTracingInterceptor) {
+        this.drainCoordinator = drainCoordinator;
+        this.replayInterceptor = replayInterceptor;
+        this.tracingInterceptor = tracingInterceptor;
+        this.broadcastTracingInterceptor = broadcastTracingInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/topic");
         registry.setApplicationDestinationPrefixes("/app");
+        registry.configureBrokerChannel().interceptors(broadcastTracingInterceptor);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
+                .addInterceptors(new DrainHandshakeInterceptor())
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(tracingInterceptor, replayInterceptor);
+    }
+
+    // Gives the drain coordinator a handle on every session so it can close them in waves
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                drainCoordinator.sessionOpened(session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                drainCoordinator.sessionClosed(session);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        });
+    }
+
+    // New sessions go to other nodes while this one drains
+    private class DrainHandshakeInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            if (drainCoordinator.acceptingSessions()) {
+                return true;
+            }
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return false;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
 }
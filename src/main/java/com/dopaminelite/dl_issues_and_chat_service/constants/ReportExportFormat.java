@@ -0,0 +1,6 @@
+package com.dopaminelite.dl_issues_and_chat_service.constants;
+
+public enum ReportExportFormat {
+    ZIP,
+    PDF
+}
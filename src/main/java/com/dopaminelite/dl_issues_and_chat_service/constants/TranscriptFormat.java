@@ -0,0 +1,29 @@
+package com.dopaminelite.dl_issues_and_chat_service.constants;
+
+import lombok.Getter;
+
+@Getter
+public enum TranscriptFormat {
+    TXT("txt", "text/plain;charset=UTF-8"),
+    HTML("html", "text/html;charset=UTF-8"),
+    JSONL("jsonl", "application/x-ndjson");
+
+    private final String extension;
+    private final String mediaType;
+
+    TranscriptFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    // Resolves the ?format= request value case-insensitively, null when unsupported
+    public static TranscriptFormat fromParam(String value) {
+        if (value == null) return null;
+        for (TranscriptFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
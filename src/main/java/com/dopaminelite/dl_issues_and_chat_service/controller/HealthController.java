@@ -1,14 +1,34 @@
 package com.dopaminelite.dl_issues_and_chat_service.controller;
 
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * Legacy health URL kept for existing load balancer configuration. Mirrors the readiness
+ * group; new deployments should probe /actuator/health/liveness and /actuator/health/readiness
+ * on the management port.
+ */
 @RestController
 public class HealthController {
 
+    private final HealthEndpoint healthEndpoint;
+
+    public HealthController(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : Status.UNKNOWN;
+        if (Status.DOWN.equals(status) || Status.OUT_OF_SERVICE.equals(status)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status.getCode().toLowerCase());
+        }
         return ResponseEntity.ok("ok");
     }
 }
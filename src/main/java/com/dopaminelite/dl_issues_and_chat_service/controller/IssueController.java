@@ -1,19 +1,34 @@
 package com.dopaminelite.dl_issues_and_chat_service.controller;
 
+import com.dopaminelite.dl_issues_and_chat_service.constants.ReportExportFormat;
+import com.dopaminelite.dl_issues_and_chat_service.constants.TranscriptFormat;
 import com.dopaminelite.dl_issues_and_chat_service.dto.*;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueReportExportService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueSearchService;
 import com.dopaminelite.dl_issues_and_chat_service.service.IssueService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueSuggestService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueTranscriptService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueVersionCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,7 +36,14 @@ import java.util.UUID;
 @RequestMapping("/issues")
 public class IssueController {
 
+    static final int MAX_BATCH_SIZE = 100;
+
     private final IssueService issueService;
+    private final IssueReportExportService issueReportExportService;
+    private final IssueTranscriptService issueTranscriptService;
+    private final IssueSearchService issueSearchService;
+    private final IssueSuggestService issueSuggestService;
+    private final IssueVersionCache issueVersionCache;
 
     @PostMapping
     public ResponseEntity<IssueResponse> createIssue(@Valid @RequestBody IssueCreateRequest request) {
@@ -31,21 +53,59 @@ public class IssueController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<IssueResponse>> listIssues(
+    public ResponseEntity<?> listIssues(
             @Valid IssueFilterRequest filter,
             @RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String include
     ) {
-        log.debug("Listing issues with filters: {}, offset: {}, limit: {}", filter, offset, limit);
+        log.debug("Listing issues with filters: {}, offset: {}, limit: {}, view: {}, include: {}",
+                filter, offset, limit, view, include);
 
         // Default sort: createdAt DESC
         PageRequest pageable = PageRequest.of(offset, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        if ("summary".equalsIgnoreCase(view)) {
+            Page<IssueSummary> summaries = issueService.getIssueSummaries(filter, pageable);
+            if (includesAttachments(include)) {
+                var attachments = issueService.getAttachmentsByIssueIds(
+                        summaries.getContent().stream().map(IssueSummary::id).toList());
+                summaries = summaries.map(s -> s.withAttachments(attachments.getOrDefault(s.id(), List.of())));
+            }
+            return ResponseEntity.ok(summaries);
+        }
+        if (!"full".equalsIgnoreCase(view)) {
+            log.error("Unsupported list view: {}", view);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorObject("Unsupported view: " + view));
+        }
+
         Page<Issue> issues = resolveFilterQuery(filter, pageable);
         Page<IssueResponse> response = issues.map(IssueResponse::fromDomain);
 
+        if (includesAttachments(include)) {
+            // One grouped query for the whole page instead of one per issue
+            var attachments = issueService.getAttachmentsByIssueIds(
+                    issues.getContent().stream().map(Issue::getId).toList());
+            response.forEach(r -> r.setAttachments(attachments.getOrDefault(r.getId(), List.of())));
+        }
+
         return ResponseEntity.ok(response);
     }
 
+    private static boolean includesAttachments(String include) {
+        if (include == null) {
+            return false;
+        }
+        for (String part : include.split(",")) {
+            if ("attachments".equalsIgnoreCase(part.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Page<Issue> resolveFilterQuery(IssueFilterRequest filter, PageRequest pageable) {
         if (filter.getStudentId() != null) {
             log.debug("Fetching issues for studentId: {} with optional status: {}", filter.getStudentId(), filter.getStatus());
@@ -74,13 +134,142 @@ public class IssueController {
         );
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchIssues(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.debug("Searching issues with q: '{}', cursor: {}, limit: {}", q, cursor, limit);
+        try {
+            return ResponseEntity.ok(issueSearchService.search(q, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid search request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorObject(e.getMessage()));
+        }
+    }
+
+    // Served from the in-memory index; called on every keystroke of the admin command palette
+    @GetMapping("/suggest")
+    public ResponseEntity<List<IssueSuggestion>> suggestIssues(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(issueSuggestService.suggest(q, limit));
+    }
+
+    @GetMapping("/suggest/stats")
+    public ResponseEntity<IssueSuggestIndexStats> getSuggestIndexStats() {
+        return ResponseEntity.ok(issueSuggestService.stats());
+    }
+
+    @GetMapping("/by-number/{issueNumber}")
+    public ResponseEntity<IssueResponse> getIssueByNumber(@PathVariable Long issueNumber) {
+        log.debug("Fetching issue with issueNumber: {}", issueNumber);
+
+        return issueService.getIssueByNumber(issueNumber)
+                .map(IssueResponse::fromDomain)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("Issue not found: issueNumber: {}", issueNumber);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                });
+    }
+
+    @GetMapping("/by-number")
+    public ResponseEntity<?> getIssuesByNumbers(@RequestParam List<Long> numbers) {
+        log.debug("Fetching issues by numbers: {}", numbers);
+        if (numbers.isEmpty() || numbers.size() > MAX_BATCH_SIZE) {
+            log.error("Invalid issue number batch size: {}", numbers.size());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorObject("Between 1 and " + MAX_BATCH_SIZE + " issue numbers are required"));
+        }
+
+        List<IssueResponse> response = issueService.getIssuesByNumbers(numbers).stream()
+                .map(IssueResponse::fromDomain)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> batchGetIssues(
+            @RequestBody IssueBatchGetRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        List<UUID> ids = request.getIds();
+        List<String> fields = request.getFields() != null ? request.getFields() : List.of();
+        log.debug("Batch fetching {} issues, fields: {}", ids != null ? ids.size() : 0, fields);
+
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            log.error("Invalid batch-get size: {}", ids != null ? ids.size() : 0);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorObject("Between 1 and " + MAX_BATCH_SIZE + " issue ids are required"));
+        }
+        for (String field : fields) {
+            if (!IssueResponse.FIELDS.containsKey(field)) {
+                log.error("Unknown batch-get field: {}", field);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorObject("Unknown field: " + field));
+            }
+        }
+
+        // The version query only reads (id, updated_at), so unchanged batches skip the entity load
+        String version = issueService.getCombinedVersion(ids);
+        String eTag = "\"" + DigestUtils.md5DigestAsHex((version + "|" + ids + "|" + fields).getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        List<?> items = issueService.getIssuesByIds(ids).stream()
+                .map(IssueResponse::fromDomain)
+                .map(r -> fields.isEmpty() ? r : r.project(fields))
+                .toList();
+        return ResponseEntity.ok().eTag(eTag).body(items);
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GetMapping("/{issueId}")
-    public ResponseEntity<IssueResponse> getIssue(@PathVariable UUID issueId) {
+    public ResponseEntity<IssueResponse> getIssue(
+            @PathVariable UUID issueId,
+            @RequestParam(required = false) String include,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("Fetching issue with issueId: {}", issueId);
 
+        if (ifNoneMatch != null) {
+            var eTag = issueVersionCache.issueETag(issueId);
+            if (eTag.isPresent() && matchesETag(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
+
         return issueService.getIssueById(issueId)
-                .map(IssueResponse::fromDomain)
-                .map(ResponseEntity::ok)
+                .map(issue -> {
+                    IssueResponse response = IssueResponse.fromDomain(issue);
+                    if (includesAttachments(include)) {
+                        response.setAttachments(issueService.getAttachmentsByIssueIds(List.of(issueId))
+                                .getOrDefault(issueId, List.of()));
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(IssueVersionCache.issueETag(issue.getUpdatedAt()))
+                            .body(response);
+                })
                 .orElseGet(() -> {
                     log.error("Issue not found: issueId: {}", issueId);
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -125,9 +314,17 @@ public class IssueController {
     public ResponseEntity<?> listIssueMessages(
             @PathVariable UUID issueId,
             @RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean preview,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        log.debug("Listing messages for issueId: {}, offset: {}, limit: {}", issueId, offset, limit);
+        log.debug("Listing messages for issueId: {}, offset: {}, limit: {}, preview: {}", issueId, offset, limit, preview);
+
+        // Pages are cached per URL, so one version for the whole conversation is enough
+        var eTag = issueVersionCache.messagesETag(issueId);
+        if (eTag.isPresent() && matchesETag(ifNoneMatch, eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+        }
 
         if (issueService.getIssueById(issueId).isEmpty()) {
             log.error("Issue not found when listing messages: issueId: {}", issueId);
@@ -136,10 +333,25 @@ public class IssueController {
         }
 
         PageRequest pageable = PageRequest.of(offset, limit);
-        var messages = issueService.getMessagesByIssueId(issueId, pageable);
+        var messages = issueService.getMessagesByIssueId(issueId, pageable, preview);
         IssueMessageListResponse response = IssueMessageListResponse.from(messages);
 
-        return ResponseEntity.ok(response);
+        var ok = ResponseEntity.ok();
+        eTag.ifPresent(ok::eTag);
+        return ok.body(response);
+    }
+
+    // Full content of one message, for items of a ?preview=true page marked contentTruncated
+    @GetMapping("/{issueId}/messages/{messageId}")
+    public ResponseEntity<IssueMessage> getIssueMessage(@PathVariable UUID issueId, @PathVariable UUID messageId) {
+        log.debug("Fetching messageId: {} of issueId: {}", messageId, issueId);
+
+        return issueService.getMessage(issueId, messageId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("Message not found: issueId: {}, messageId: {}", issueId, messageId);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                });
     }
 
     @GetMapping("/{issueId}/report")
@@ -165,4 +377,68 @@ public class IssueController {
                     .body(new ErrorObject(e.getMessage()));
         }
     }
+
+    @GetMapping("/{issueId}/transcript")
+    public ResponseEntity<StreamingResponseBody> downloadIssueTranscript(
+            @PathVariable UUID issueId,
+            @RequestParam(defaultValue = "txt") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        log.debug("Downloading {} transcript for issueId: {}", format, issueId);
+
+        TranscriptFormat transcriptFormat = TranscriptFormat.fromParam(format);
+        if (transcriptFormat == null) {
+            log.error("Unsupported transcript format: {}", format);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        var issueOpt = issueService.getIssueById(issueId);
+        if (issueOpt.isEmpty()) {
+            log.error("Issue not found when generating transcript: issueId: {}", issueId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        Issue issue = issueOpt.get();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192, true);
+                issueTranscriptService.writeTranscript(issue, transcriptFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                issueTranscriptService.writeTranscript(issue, transcriptFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=issue-" + issue.getIssueNumber()
+                        + "-transcript." + transcriptFormat.getExtension())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType(transcriptFormat.getMediaType()));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/reports/export")
+    public ResponseEntity<StreamingResponseBody> exportIssueReports(@Valid IssueReportExportRequest request) {
+        log.debug("Exporting issue reports with filters: {}", request);
+
+        if (request.getFrom() == null || request.getTo() == null || !request.getFrom().isBefore(request.getTo())) {
+            log.error("Invalid date range for report export: from: {}, to: {}", request.getFrom(), request.getTo());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        boolean merged = request.getFormat() == ReportExportFormat.PDF;
+        StreamingResponseBody body = out -> issueReportExportService.export(request, out);
+
+        return ResponseEntity.ok()
+                .header("Content-Disposition", merged
+                        ? "attachment; filename=issue-reports.pdf"
+                        : "attachment; filename=issue-reports.zip")
+                .contentType(merged ? MediaType.APPLICATION_PDF : MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
 }
@@ -4,8 +4,16 @@ import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessag
 import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEventPayload;
 import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketSendMessagePayload;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.logging.SampledLogTurboFilter;
 import com.dopaminelite.dl_issues_and_chat_service.service.IssueMessageService;
-import lombok.RequiredArgsConstructor;
+import com.dopaminelite.dl_issues_and_chat_service.service.MessageReplayBuffer;
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketDrainCoordinator;
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketSessionTracker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -16,34 +24,66 @@ import org.springframework.stereotype.Controller;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Controller
-@RequiredArgsConstructor
 @Slf4j
 public class IssueWebSocketController {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final IssueMessageService messageService;
+    private final WebSocketSessionTracker sessionTracker;
+    private final WebSocketDrainCoordinator drainCoordinator;
+    private final MessageReplayBuffer replayBuffer;
+    private final Tracer tracer;
+
+    // Persist and broadcast are timed separately so a slow database and a slow fan-out can be told apart
+    private final Timer persistTimer;
+    private final Timer broadcastTimer;
+    private final DistributionSummary fanOut;
+
+    public IssueWebSocketController(SimpMessagingTemplate messagingTemplate,
+                                    IssueMessageService messageService,
+                                    WebSocketSessionTracker sessionTracker,
+                                    WebSocketDrainCoordinator drainCoordinator,
+                                    MessageReplayBuffer replayBuffer,
+                                    Tracer tracer,
+                                    MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.messageService = messageService;
+        this.sessionTracker = sessionTracker;
+        this.drainCoordinator = drainCoordinator;
+        this.replayBuffer = replayBuffer;
+        this.tracer = tracer;
+        this.persistTimer = Timer.builder("chat.websocket.send")
+                .description("Time to handle one chat message sent over WebSocket")
+                .tag("phase", "persist")
+                .register(meterRegistry);
+        this.broadcastTimer = Timer.builder("chat.websocket.send")
+                .description("Time to handle one chat message sent over WebSocket")
+                .tag("phase", "broadcast")
+                .register(meterRegistry);
+        this.fanOut = DistributionSummary.builder("chat.broadcast.fanout")
+                .description("Subscribers a chat message was broadcast to")
+                .register(meterRegistry);
+    }
 
     public void sendMessage(UUID issueId, WebSocketSendMessagePayload payload) {
-        log.debug("Processing internal sendMessage for issueId: {}", issueId);
+        log.debug(SampledLogTurboFilter.SAMPLED, "Processing internal sendMessage for issueId: {}", issueId);
 
+        // Counted so a shutdown drain waits for the save and broadcast to finish
+        drainCoordinator.messageStarted();
         try {
-            IssueMessage msg = messageService.createMessage(issueId, payload.getContent(), payload.getAttachments());
-
-            WebSocketMessageEventPayload eventPayload = new WebSocketMessageEventPayload(msg);
-
-            WebSocketMessageEnvelope envelope = WebSocketMessageEnvelope.builder()
-                    .type("MESSAGE")
-                    .issueId(issueId)
-                    .payload(eventPayload)
-                    .build();
+            IssueMessage msg = persist(issueId,
+                    () -> messageService.createMessage(issueId, payload.getContent(), payload.getAttachments()));
 
-            messagingTemplate.convertAndSend("/topic/issues/" + issueId, envelope);
-            log.debug("WebSocket message sent to /topic/issues/{}", issueId);
+            broadcast(issueId, msg);
+            log.debug(SampledLogTurboFilter.SAMPLED, "WebSocket message sent to /topic/issues/{}", issueId);
 
         } catch (Exception e) {
             log.error("Failed to process internal sendMessage for issueId: {}", issueId, e);
+        } finally {
+            drainCoordinator.messageFinished();
         }
     }
 
@@ -53,7 +93,7 @@ public class IssueWebSocketController {
             @Payload WebSocketSendMessagePayload payload,
             SimpMessageHeaderAccessor headerAccessor
     ) {
-        log.debug("WebSocket message received for issueId: {}, payload: {}", issueId, payload);
+        log.debug(SampledLogTurboFilter.SAMPLED, "WebSocket message received for issueId: {}, payload: {}", issueId, payload);
 
         UUID parsedIssueId;
         try {
@@ -63,6 +103,7 @@ public class IssueWebSocketController {
             return;
         }
 
+        drainCoordinator.messageStarted();
         try {
             Optional<String> possibleSender = Optional.ofNullable(headerAccessor.getFirstNativeHeader("x-sender-id"));
             Optional<String> possibleRole = Optional.ofNullable(headerAccessor.getFirstNativeHeader("x-sender-role"));
@@ -70,29 +111,59 @@ public class IssueWebSocketController {
             UUID senderId = possibleSender.map(UUID::fromString).orElse(null);
             String senderRole = possibleRole.orElse(null);
 
-            log.debug("Sender info extracted: senderId: {}, senderRole: {}", senderId, senderRole);
+            log.debug(SampledLogTurboFilter.SAMPLED, "Sender info extracted: senderId: {}, senderRole: {}", senderId, senderRole);
 
-            IssueMessage msg = messageService.createMessage(
+            IssueMessage msg = persist(parsedIssueId, () -> messageService.createMessage(
                     parsedIssueId,
                     payload.getContent(),
                     payload.getAttachments(),
                     senderId,
                     senderRole
-            );
+            ));
 
-            WebSocketMessageEventPayload eventPayload = new WebSocketMessageEventPayload(msg);
-
-            WebSocketMessageEnvelope envelope = WebSocketMessageEnvelope.builder()
-                    .type("MESSAGE")
-                    .issueId(parsedIssueId)
-                    .payload(eventPayload)
-                    .build();
-
-            messagingTemplate.convertAndSend("/topic/issues/" + parsedIssueId, envelope);
-            log.debug("Broadcasted message to /topic/issues/{}", parsedIssueId);
+            broadcast(parsedIssueId, msg);
+            log.debug(SampledLogTurboFilter.SAMPLED, "Broadcasted message to /topic/issues/{}", parsedIssueId);
 
         } catch (Exception e) {
             log.error("Failed to process WebSocket message for issueId: {}", issueId, e);
+        } finally {
+            drainCoordinator.messageFinished();
+        }
+    }
+
+    private IssueMessage persist(UUID issueId, Supplier<IssueMessage> create) {
+        Span span = tracer.nextSpan().name("chat.message.persist").tag("issue.id", issueId.toString()).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return persistTimer.record(create);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void broadcast(UUID issueId, IssueMessage msg) {
+        String destination = "/topic/issues/" + issueId;
+        WebSocketMessageEventPayload payload = new WebSocketMessageEventPayload(msg);
+        WebSocketMessageEnvelope envelope = WebSocketMessageEnvelope.builder()
+                .type("MESSAGE")
+                .issueId(issueId)
+                .payload(payload)
+                .build();
+
+        // The broker channel copies this span's traceparent onto the subscribers' frames
+        Span span = tracer.nextSpan().name("chat.message.broadcast").tag("issue.id", issueId.toString()).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            // Kept for replay to subscribers that reconnect with a last-seen header
+            broadcastTimer.record(() -> replayBuffer.publish(issueId, payload, envelope,
+                    () -> messagingTemplate.convertAndSend(destination, envelope)));
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
         }
+        fanOut.record(sessionTracker.subscriberCount(destination));
     }
 }
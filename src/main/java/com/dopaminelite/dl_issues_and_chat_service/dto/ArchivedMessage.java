@@ -0,0 +1,42 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One message inside an archived conversation payload. The issue id is stored once on the
+ * archive row, not per message.
+ */
+public record ArchivedMessage(
+        UUID id,
+        UUID senderId,
+        Role senderRole,
+        String content,
+        Instant createdAt,
+        List<UploadedFileRef> attachments
+) {
+
+    public static ArchivedMessage from(IssueMessage message) {
+        return new ArchivedMessage(message.getId(), message.getSenderId(), message.getSenderRole(),
+                message.getContent(), message.getCreatedAt(), List.copyOf(message.getAttachments()));
+    }
+
+    public IssueMessage toMessage(UUID issueId) {
+        List<UploadedFileRef> files = attachments != null ? attachments : List.of();
+        return IssueMessage.builder()
+                .id(id)
+                .issueId(issueId)
+                .senderId(senderId)
+                .senderRole(senderRole)
+                .content(content)
+                .createdAt(createdAt)
+                .attachment(files.isEmpty() ? null : files.get(0))
+                .attachments(new ArrayList<>(files))
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueBatchGetRequest {
+    private List<UUID> ids;
+    // Optional projection, e.g. ["status", "updatedAt"]; all fields when empty
+    private List<String> fields;
+}
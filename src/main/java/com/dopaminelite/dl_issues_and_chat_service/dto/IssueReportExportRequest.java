@@ -0,0 +1,22 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.ReportExportFormat;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+public class IssueReportExportRequest {
+    // Range applies to solvedAt: from inclusive, to exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant to;
+
+    private UUID assignedAdminId;
+    private UUID studentId;
+    private ReportExportFormat format = ReportExportFormat.ZIP;
+}
@@ -3,18 +3,45 @@ package com.dopaminelite.dl_issues_and_chat_service.dto;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Getter
 @Setter
 @NoArgsConstructor
 public class IssueResponse {
 
+    // JSON property name -> accessor, used for field projection in batch responses
+    public static final Map<String, Function<IssueResponse, Object>> FIELDS;
+
+    static {
+        Map<String, Function<IssueResponse, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", IssueResponse::getId);
+        fields.put("issueNumber", IssueResponse::getIssueNumber);
+        fields.put("title", IssueResponse::getTitle);
+        fields.put("description", IssueResponse::getDescription);
+        fields.put("studentId", IssueResponse::getStudentId);
+        fields.put("assignedAdminId", IssueResponse::getAssignedAdminId);
+        fields.put("status", IssueResponse::getStatus);
+        fields.put("assignmentStatus", IssueResponse::getAssignmentStatus);
+        fields.put("chatReadOnly", IssueResponse::isChatReadOnly);
+        fields.put("createdAt", IssueResponse::getCreatedAt);
+        fields.put("updatedAt", IssueResponse::getUpdatedAt);
+        fields.put("solvedAt", IssueResponse::getSolvedAt);
+        FIELDS = Collections.unmodifiableMap(fields);
+    }
+
     private UUID id;
     private Long issueNumber;
     private String title;
@@ -30,6 +57,10 @@ public class IssueResponse {
     private Instant updatedAt;
     private Instant solvedAt;
 
+    // Only set when the caller asked for include=attachments
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<UploadedFileRef> attachments;
+
     public static IssueResponse fromDomain(Issue issue) {
         IssueResponse r = new IssueResponse();
         r.id = issue.getId();
@@ -46,4 +77,19 @@ public class IssueResponse {
         r.solvedAt = issue.getSolvedAt();
         return r;
     }
+
+    /**
+     * Returns only the requested properties; {@code id} is always included.
+     */
+    public Map<String, Object> project(Collection<String> fieldNames) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        for (String name : fieldNames) {
+            Function<IssueResponse, Object> accessor = FIELDS.get(name);
+            if (accessor != null) {
+                result.put(name, accessor.apply(this));
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,24 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssueSearchHit {
+    // ISSUE when the title/description matched, MESSAGE when a chat message matched
+    private String type;
+    private UUID issueId;
+    private UUID messageId;
+    private Long issueNumber;
+    private String title;
+    // HTML-escaped text with matches wrapped in <mark></mark>
+    private String snippet;
+    private float rank;
+}
@@ -0,0 +1,18 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssueSearchResponse {
+    private List<IssueSearchHit> items;
+    // Opaque keyset cursor for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssueSuggestIndexStats {
+    private boolean ready;
+    private int documents;
+    private int terms;
+    private long estimatedBytes;
+    private long maxBytes;
+    private long evictedDocuments;
+    private long overBudgetAdds;
+    private long queries;
+    private double averageQueryMicros;
+}
@@ -0,0 +1,21 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssueSuggestion {
+    private UUID issueId;
+    private Long issueNumber;
+    private String title;
+    // ISSUE when the title/number matched, MESSAGE when a recent chat message matched
+    private String matchedIn;
+    private UUID messageId;
+}
@@ -0,0 +1,44 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * List view of an issue without the description. Built directly by a JPQL constructor
+ * expression, so no {@code Issue} entity is loaded or managed; attachments are only set
+ * (and serialized) when the caller asks for them.
+ */
+public record IssueSummary(
+        UUID id,
+        Long issueNumber,
+        String title,
+        UUID studentId,
+        UUID assignedAdminId,
+        IssueStatus status,
+        IssueAssignmentStatus assignmentStatus,
+        boolean chatReadOnly,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant solvedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<UploadedFileRef> attachments
+) {
+
+    // Used by the JPQL constructor expression
+    public IssueSummary(UUID id, Long issueNumber, String title, UUID studentId, UUID assignedAdminId,
+                        IssueStatus status, IssueAssignmentStatus assignmentStatus, boolean chatReadOnly,
+                        Instant createdAt, Instant updatedAt, Instant solvedAt) {
+        this(id, issueNumber, title, studentId, assignedAdminId, status, assignmentStatus, chatReadOnly,
+                createdAt, updatedAt, solvedAt, null);
+    }
+
+    public IssueSummary withAttachments(List<UploadedFileRef> attachments) {
+        return new IssueSummary(id, issueNumber, title, studentId, assignedAdminId, status, assignmentStatus,
+                chatReadOnly, createdAt, updatedAt, solvedAt, attachments);
+    }
+}
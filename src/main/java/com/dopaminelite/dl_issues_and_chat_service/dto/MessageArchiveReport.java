@@ -0,0 +1,22 @@
+package com.dopaminelite.dl_issues_and_chat_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageArchiveReport {
+    private int issuesArchived;
+    private long messagesArchived;
+    // JSON size of the moved messages before and after compression
+    private long rawBytes;
+    private long compressedBytes;
+    // pg_total_relation_size over all message partitions. Deleted rows stay on disk until vacuum,
+    // so right after a run the difference is close to zero.
+    private long hotTableBytesBefore;
+    private long hotTableBytesAfter;
+}
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
@@ -22,7 +23,9 @@ public class WebSocketMessageEventPayload {
     private UUID senderId;
     private String senderRole;
     private String content;
+    // First attachment, kept for clients that predate the list
     private UploadedFileRef attachment;
+    private List<UploadedFileRef> attachments;
     private Instant createdAt;
 
     public WebSocketMessageEventPayload(IssueMessage message) {
@@ -32,6 +35,8 @@ public class WebSocketMessageEventPayload {
         this.senderRole = message.getSenderRole().name();
         this.content = message.getContent();
         this.attachment = message.getAttachment();
+        // Freshly saved messages still hold the list that was just persisted, so no query runs here
+        this.attachments = message.getAttachments();
         this.createdAt = message.getCreatedAt();
     }
 }
@@ -10,6 +10,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -72,8 +73,10 @@ public class Issue {
 
     private Instant solvedAt;
 
+    // Lazy; when touched for one issue of a page, the collections of up to 50 issues load in one IN query
     @Builder.Default
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "dopaminelite_issue_attachments", joinColumns = @JoinColumn(name = "issue_id"))
     private List<UploadedFileRef> attachments = new ArrayList<>();
 
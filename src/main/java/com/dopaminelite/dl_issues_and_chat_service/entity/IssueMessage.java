@@ -3,6 +3,9 @@ package com.dopaminelite.dl_issues_and_chat_service.entity;
 import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import jakarta.persistence.*;
 
 import lombok.AllArgsConstructor;
@@ -11,10 +14,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import org.hibernate.annotations.BatchSize;
+
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -27,6 +34,9 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class IssueMessage {
 
+    // Length of the content_preview column maintained by the database
+    public static final int PREVIEW_LENGTH = 280;
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -44,11 +54,85 @@ public class IssueMessage {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Generated columns; list queries read these so large bodies are never detoasted
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private String contentPreview;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Integer contentLength;
+
+    // Set on ?preview=true page items whose content holds only the preview
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean contentTruncated;
+
+    // First attachment only; kept in sync with attachments for readers of the old columns
     @Embedded
     private UploadedFileRef attachment;
 
+    // Initializing one message's list loads the lists of up to 100 messages in the session at once
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "dopaminelite_issue_message_attachments", joinColumns = @JoinColumn(name = "message_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    private List<UploadedFileRef> attachments = new ArrayList<>();
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
-}
 
+    /**
+     * Detached thread page item built from the generated preview columns. Attachments are
+     * filled in separately by the caller.
+     */
+    public IssueMessage(UUID id, UUID issueId, UUID senderId, Role senderRole,
+                        String contentPreview, Integer contentLength,
+                        String fileId, String fileName, String fileType, Instant createdAt) {
+        this.id = id;
+        this.issueId = issueId;
+        this.senderId = senderId;
+        this.senderRole = senderRole;
+        this.content = contentPreview;
+        this.contentPreview = contentPreview;
+        this.contentLength = contentLength;
+        this.contentTruncated = contentLength != null && contentLength > PREVIEW_LENGTH;
+        this.attachment = fileId != null ? new UploadedFileRef(fileId, fileName, fileType) : null;
+        this.attachments = new ArrayList<>();
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * In-memory equivalent of the preview columns, for messages that did not come from the
+     * hot table. Returns this message when the content already fits.
+     */
+    public IssueMessage toPreview() {
+        if (content == null || content.codePointCount(0, content.length()) <= PREVIEW_LENGTH) {
+            return this;
+        }
+        String preview = content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH));
+        return IssueMessage.builder()
+                .id(id)
+                .issueId(issueId)
+                .senderId(senderId)
+                .senderRole(senderRole)
+                .content(preview)
+                .contentPreview(preview)
+                .contentLength(content.codePointCount(0, content.length()))
+                .contentTruncated(true)
+                .attachment(attachment)
+                .attachments(new ArrayList<>(getAttachments()))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    // Rows written before V5, or by instances still on the old version, only have the embedded columns
+    public List<UploadedFileRef> getAttachments() {
+        if (attachments.isEmpty() && attachment != null) {
+            return List.of(attachment);
+        }
+        return attachments;
+    }
+}
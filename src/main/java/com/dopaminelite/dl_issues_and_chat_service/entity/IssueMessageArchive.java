@@ -0,0 +1,43 @@
+package com.dopaminelite.dl_issues_and_chat_service.entity;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Archived conversation of one solved issue; payload is a gzip-compressed JSON array of messages
+@Entity
+@Table(name = "dopaminelite_issue_message_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssueMessageArchive {
+
+    @Id
+    private UUID issueId;
+
+    @Column(nullable = false)
+    private int messageCount;
+
+    private Instant firstMessageAt;
+
+    private Instant lastMessageAt;
+
+    // Uncompressed JSON size, kept for reporting
+    @Column(nullable = false)
+    private long rawBytes;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,9 @@
+package com.dopaminelite.dl_issues_and_chat_service.event;
+
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+
+/**
+ * Published by {@code IssueService} after a new issue has been saved.
+ */
+public record IssueCreatedEvent(Issue issue) {
+}
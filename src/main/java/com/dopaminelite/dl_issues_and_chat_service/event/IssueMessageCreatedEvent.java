@@ -0,0 +1,9 @@
+package com.dopaminelite.dl_issues_and_chat_service.event;
+
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+
+/**
+ * Published by {@code IssueMessageService} after a chat message has been saved.
+ */
+public record IssueMessageCreatedEvent(IssueMessage message) {
+}
@@ -0,0 +1,10 @@
+package com.dopaminelite.dl_issues_and_chat_service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by {@code MessageArchiveService} once an issue's messages have been moved into
+ * its archive row.
+ */
+public record IssueMessagesArchivedEvent(UUID issueId) {
+}
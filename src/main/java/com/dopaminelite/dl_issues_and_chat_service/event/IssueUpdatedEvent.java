@@ -0,0 +1,9 @@
+package com.dopaminelite.dl_issues_and_chat_service.event;
+
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+
+/**
+ * Published by {@code IssueService} after an existing issue has been changed and saved.
+ */
+public record IssueUpdatedEvent(Issue issue) {
+}
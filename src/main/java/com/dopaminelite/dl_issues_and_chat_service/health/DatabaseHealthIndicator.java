@@ -0,0 +1,82 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Database reachability for the readiness probe. The result is cached for
+ * {@code health.database.cache-ms} and at most one probe query runs at a time, so frequent
+ * load balancer checks cannot pile up on a struggling database or an exhausted pool.
+ * Replaces Boot's uncached {@code db} indicator.
+ */
+@Component
+@Slf4j
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock probeLock = new ReentrantLock();
+
+    private volatile Health cached;
+    private volatile long checkedAt;
+
+    @Autowired
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${health.database.cache-ms:5000}") long cacheMs,
+                                   @Value("${health.database.query-timeout-seconds:2}") int queryTimeoutSeconds) {
+        this(timedTemplate(dataSource, queryTimeoutSeconds), Duration.ofMillis(cacheMs), System::nanoTime);
+    }
+
+    DatabaseHealthIndicator(JdbcTemplate jdbcTemplate, Duration cacheFor, LongSupplier nanoClock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheNanos = cacheFor.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Health health() {
+        Health current = cached;
+        if (current != null && nanoClock.getAsLong() - checkedAt < cacheNanos) {
+            return current;
+        }
+        // Another thread is already probing; answer with the last known state
+        if (!probeLock.tryLock()) {
+            return current != null ? current : Health.unknown().withDetail("reason", "first check in progress").build();
+        }
+        try {
+            long start = nanoClock.getAsLong();
+            Health result;
+            try {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                result = Health.up()
+                        .withDetail("latencyMs", Duration.ofNanos(nanoClock.getAsLong() - start).toMillis())
+                        .build();
+            } catch (Exception e) {
+                log.warn("Database health check failed: {}", e.getMessage());
+                result = Health.down(e).build();
+            }
+            cached = result;
+            checkedAt = nanoClock.getAsLong();
+            return result;
+        } finally {
+            probeLock.unlock();
+        }
+    }
+
+    private static JdbcTemplate timedTemplate(DataSource dataSource, int queryTimeoutSeconds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(queryTimeoutSeconds);
+        return template;
+    }
+}
@@ -0,0 +1,64 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketSessionTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Lets an operator take a node out of rotation without stopping it:
+ * {@code POST /actuator/drain} flips readiness to REFUSING_TRAFFIC, so the load balancer stops
+ * sending new connections while existing WebSocket sessions finish;
+ * {@code DELETE /actuator/drain} puts the node back.
+ *
+ * <p>Served only on the internal management port ({@code management.server.port}); it is not
+ * authenticated.
+ */
+@Component
+@Endpoint(id = "drain")
+@Slf4j
+public class DrainEndpoint {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationAvailability availability;
+    private final WebSocketSessionTracker sessionTracker;
+
+    public DrainEndpoint(ApplicationEventPublisher eventPublisher,
+                         ApplicationAvailability availability,
+                         WebSocketSessionTracker sessionTracker) {
+        this.eventPublisher = eventPublisher;
+        this.availability = availability;
+        this.sessionTracker = sessionTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+                "readiness", availability.getReadinessState(),
+                "sessions", sessionTracker.sessionCount(),
+                "subscriptions", sessionTracker.subscriptionCount());
+    }
+
+    @WriteOperation
+    public Map<String, Object> drain() {
+        log.warn("Draining: reporting not-ready with {} open WebSocket sessions", sessionTracker.sessionCount());
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        return status();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> resume() {
+        log.info("Drain cancelled: accepting traffic again");
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        return status();
+    }
+}
@@ -0,0 +1,57 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Reports the node out of service while requests queue for a database connection, so the
+ * load balancer stops adding work to a saturated pool.
+ */
+@Component
+public class HikariPoolHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+    private final int maxAwaiting;
+
+    public HikariPoolHealthIndicator(DataSource dataSource,
+                                     @Value("${health.hikari.max-awaiting:10}") int maxAwaiting) {
+        this.dataSource = dataSource;
+        this.maxAwaiting = maxAwaiting;
+    }
+
+    @Override
+    public Health health() {
+        HikariDataSource hikari = unwrap();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "pool not started").build();
+        }
+
+        int awaiting = pool.getThreadsAwaitingConnection();
+        Health.Builder builder = awaiting > maxAwaiting ? Health.status(Status.OUT_OF_SERVICE) : Health.up();
+        return builder
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("max", hikari.getMaximumPoolSize())
+                .withDetail("awaiting", awaiting)
+                .withDetail("maxAwaiting", maxAwaiting)
+                .build();
+    }
+
+    private HikariDataSource unwrap() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Depth of the queue in front of the inbound STOMP channel. The queue is unbounded, so a
+ * growing backlog is the only sign that incoming frames are not being processed in time.
+ */
+@Component
+public class StompInboundHealthIndicator implements HealthIndicator {
+
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final int maxQueued;
+
+    public StompInboundHealthIndicator(@Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+                                       @Value("${health.stomp.max-queued:1000}") int maxQueued) {
+        this.inboundExecutor = inboundExecutor;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public Health health() {
+        int queued = inboundExecutor.getQueueSize();
+        Health.Builder builder = queued > maxQueued ? Health.status(Status.OUT_OF_SERVICE) : Health.up();
+        return builder
+                .withDetail("queued", queued)
+                .withDetail("maxQueued", maxQueued)
+                .withDetail("active", inboundExecutor.getActiveCount())
+                .withDetail("poolSize", inboundExecutor.getPoolSize())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import com.dopaminelite.dl_issues_and_chat_service.utils.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit state of the user-service client. An open circuit is reported as DEGRADED rather
+ * than DOWN: chat keeps working with unresolved names, and the outage affects every node
+ * alike, so taking nodes out of rotation would not help.
+ */
+@Component
+public class UserServiceHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "User service circuit is open");
+
+    private final UserServiceClient userServiceClient;
+
+    public UserServiceHealthIndicator(UserServiceClient userServiceClient) {
+        this.userServiceClient = userServiceClient;
+    }
+
+    @Override
+    public Health health() {
+        CircuitBreaker.State state = userServiceClient.circuitState();
+        Health.Builder builder = state == CircuitBreaker.State.OPEN ? Health.status(DEGRADED) : Health.up();
+        return builder.withDetail("circuit", state).build();
+    }
+}
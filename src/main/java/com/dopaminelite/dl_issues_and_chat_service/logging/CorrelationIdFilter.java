@@ -0,0 +1,58 @@
+package com.dopaminelite.dl_issues_and_chat_service.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Puts a correlation id in the MDC for the duration of each HTTP request, taken from the
+ * caller's {@code X-Correlation-Id} header or generated, and echoes it in the response.
+ * Structured log lines carry it as {@code correlationId}, next to the trace and span ids.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = correlationId(request.getHeader(HEADER));
+        MDC.put(MDC_KEY, correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    // Caller-supplied ids end up in every log line, so only short, plain tokens are accepted
+    static String correlationId(String header) {
+        if (header == null || header.isEmpty() || header.length() > MAX_LENGTH) {
+            return UUID.randomUUID().toString();
+        }
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return UUID.randomUUID().toString();
+            }
+        }
+        return header;
+    }
+}
@@ -0,0 +1,29 @@
+package com.dopaminelite.dl_issues_and_chat_service.repository;
+
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessageArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IssueMessageArchiveRepository extends JpaRepository<IssueMessageArchive, UUID> {
+
+    @Query("SELECT COALESCE(SUM(a.rawBytes), 0) FROM IssueMessageArchive a")
+    long sumRawBytes();
+
+    @Query(value = "SELECT COALESCE(SUM(octet_length(payload)), 0) FROM dopaminelite_issue_message_archive", nativeQuery = true)
+    long sumPayloadBytes();
+
+    // Reads only the summary columns, never the payload
+    Optional<ArchiveVersion> findVersionByIssueId(UUID issueId);
+
+    interface ArchiveVersion {
+        int getMessageCount();
+
+        Instant getLastMessageAt();
+    }
+}
@@ -3,18 +3,109 @@ package com.dopaminelite.dl_issues_and_chat_service.repository;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface IssueMessageRepository extends JpaRepository<IssueMessage, UUID> {
 
     Page<IssueMessage> findByIssueIdOrderByCreatedAtAsc(UUID issueId, Pageable pageable);
 
+    // Thread page items from the preview columns; the full content is never read
+    @Query(value = """
+            SELECT new com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage(
+                m.id, m.issueId, m.senderId, m.senderRole, m.contentPreview, m.contentLength,
+                m.attachment.fileId, m.attachment.fileName, m.attachment.fileType, m.createdAt)
+            FROM IssueMessage m
+            WHERE m.issueId = :issueId
+            ORDER BY m.createdAt ASC
+            """,
+            countQuery = "SELECT count(m) FROM IssueMessage m WHERE m.issueId = :issueId")
+    Page<IssueMessage> findPreviewsByIssueId(@Param("issueId") UUID issueId, Pageable pageable);
+
+    // Attachments of several messages in one query, as (message_id, file_id, file_name, file_type) rows
+    @Query(value = """
+            SELECT message_id, file_id, file_name, file_type
+            FROM dopaminelite_issue_message_attachments
+            WHERE message_id = ANY(:messageIds)
+            ORDER BY message_id, position
+            """, nativeQuery = true)
+    List<Object[]> findAttachmentsByMessageIds(@Param("messageIds") UUID[] messageIds);
+
+    /*
+     * The table is range-partitioned by created_at. Passing a lower bound from
+     * earliestMessageTime(issue.createdAt) lets Postgres skip every partition older than the issue.
+     */
+
     // Convenience method to fetch all messages (used by PDF/report generation)
-    List<IssueMessage> findByIssueIdOrderByCreatedAtAsc(UUID issueId);
+    List<IssueMessage> findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(UUID issueId, Instant since);
+
+    // Bounded range from the (issue_id, created_at) index (used to replay missed messages)
+    List<IssueMessage> findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(UUID issueId, Instant since, Pageable pageable);
+
+    @Query("SELECT m.createdAt FROM IssueMessage m WHERE m.id = :id AND m.issueId = :issueId")
+    Optional<Instant> findCreatedAtByIdAndIssueId(@Param("id") UUID id, @Param("issueId") UUID issueId);
+
+    // Fetch the conversations of several issues in one query (used by bulk report export)
+    List<IssueMessage> findByIssueIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(Collection<UUID> issueIds, Instant since);
+
+    // Cursor-backed stream for transcript export; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<IssueMessage> streamByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(UUID issueId, Instant since);
+
+    @Query("SELECT DISTINCT m.senderId FROM IssueMessage m WHERE m.issueId = :issueId AND m.createdAt >= :since")
+    List<UUID> findDistinctSenderIdsByIssueId(@Param("issueId") UUID issueId, @Param("since") Instant since);
+
+    long countByIssueIdAndCreatedAtGreaterThanEqual(UUID issueId, Instant since);
+
+    // Newest message ids first; used with a one-element page as a cheap version probe
+    @Query("SELECT m.id FROM IssueMessage m WHERE m.issueId = :issueId AND m.createdAt >= :since ORDER BY m.createdAt DESC, m.id DESC")
+    List<UUID> findLatestIdsByIssueId(@Param("issueId") UUID issueId, @Param("since") Instant since, Pageable pageable);
+
+    // Archival deletes exactly the archived rows, so messages posted meanwhile stay in the hot table.
+    // Attachments go first, there is no cascading foreign key on the partitioned table.
+    @Modifying
+    @Query(value = "DELETE FROM dopaminelite_issue_message_attachments WHERE message_id IN (:messageIds)", nativeQuery = true)
+    int deleteAttachmentsByMessageIds(@Param("messageIds") Collection<UUID> messageIds);
+
+    // issueId and since let Postgres prune partitions
+    @Modifying
+    @Query("DELETE FROM IssueMessage m WHERE m.issueId = :issueId AND m.createdAt >= :since AND m.id IN :messageIds")
+    int deleteArchived(@Param("issueId") UUID issueId,
+                       @Param("since") Instant since,
+                       @Param("messageIds") Collection<UUID> messageIds);
+
+    // Size of the hot table across all partitions, indexes and TOAST included
+    @Query(value = """
+            SELECT COALESCE(SUM(pg_total_relation_size(inhrelid)), 0)
+            FROM pg_inherits
+            WHERE inhparent = CAST('public.dopaminelite_issue_messages' AS regclass)
+            """, nativeQuery = true)
+    long hotTableBytes();
+
+    // Recent messages in creation order, paged without a count query (used to warm the suggest index)
+    Slice<IssueMessage> findByCreatedAtGreaterThanEqual(Instant since, Pageable pageable);
 
+    // Messages cannot predate their issue; the margin absorbs clock skew between instances
+    static Instant earliestMessageTime(Instant issueCreatedAt) {
+        return issueCreatedAt != null ? issueCreatedAt.minus(Duration.ofDays(1)) : Instant.EPOCH;
+    }
 }
@@ -3,18 +3,35 @@ package com.dopaminelite.dl_issues_and_chat_service.repository;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface IssueRepository extends JpaRepository<Issue, UUID> {
 
+    // List endpoints only read issues; read-only loads skip dirty-checking snapshots
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<Issue> findAll(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByStudentId(UUID studentId, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByStatusAndAssignmentStatusAndAssignedAdminId(
             IssueStatus status,
             IssueAssignmentStatus assignmentStatus,
@@ -24,8 +41,39 @@ public interface IssueRepository extends JpaRepository<Issue, UUID> {
 
     Optional<Issue> findById(UUID id);
 
+    // Both served by the unique index on issue_number
+    Optional<Issue> findByIssueNumber(Long issueNumber);
+
+    List<Issue> findByIssueNumberIn(Collection<Long> issueNumbers);
+
+    // Attachments of several issues in one query, as (issueId, UploadedFileRef) rows
+    @Query("SELECT i.id, a FROM Issue i JOIN i.attachments a WHERE i.id IN :issueIds")
+    List<Object[]> findAttachmentsByIssueIds(@Param("issueIds") Collection<UUID> issueIds);
+
+    // Version probe for conditional GETs; avoids loading the entity and its attachments
+    @Query("SELECT i.updatedAt FROM Issue i WHERE i.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") UUID id);
+
+    // Existence probe for the messages ETag
+    @Query("SELECT i.createdAt FROM Issue i WHERE i.id = :id")
+    Optional<Instant> findCreatedAtById(@Param("id") UUID id);
+
+    // Single array parameter keeps one prepared statement regardless of how many ids are sent
+    @Query(value = "SELECT * FROM dopaminelite_issues WHERE id = ANY(:ids)", nativeQuery = true)
+    List<Issue> findAllByIdIn(@Param("ids") UUID[] ids);
+
+    // Digest over (id, updated_at) of the given issues; changes whenever any of them is updated
+    @Query(value = """
+            SELECT md5(COALESCE(string_agg(CAST(id AS text) || '@' || CAST(updated_at AS text), ',' ORDER BY id), ''))
+            FROM dopaminelite_issues
+            WHERE id = ANY(:ids)
+            """, nativeQuery = true)
+    String findCombinedVersion(@Param("ids") UUID[] ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByAssignedAdminId(UUID adminId, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByStatusAndAssignmentStatus(
             IssueStatus status,
             IssueAssignmentStatus assignmentStatus,
@@ -33,15 +81,78 @@ public interface IssueRepository extends JpaRepository<Issue, UUID> {
     );
 
     // Newly added query methods to support more flexible filtering
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByStatus(IssueStatus status, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByAssignmentStatus(IssueAssignmentStatus assignmentStatus, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByAssignedAdminIdAndStatus(UUID assignedAdminId, IssueStatus status, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByAssignedAdminIdAndAssignmentStatus(UUID assignedAdminId, IssueAssignmentStatus assignmentStatus, Pageable pageable);
 
     // Support student + status filtering
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Issue> findByStudentIdAndStatus(UUID studentId, IssueStatus status, Pageable pageable);
 
+    // Summary list view: selects only the listed columns, never the description or attachments
+    @Query(value = """
+            SELECT new com.dopaminelite.dl_issues_and_chat_service.dto.IssueSummary(
+                i.id, i.issueNumber, i.title, i.studentId, i.assignedAdminId, i.status,
+                i.assignmentStatus, i.isChatReadOnly, i.createdAt, i.updatedAt, i.solvedAt)
+            FROM Issue i
+            WHERE (:studentId IS NULL OR i.studentId = :studentId)
+              AND (:status IS NULL OR i.status = :status)
+              AND (:assignmentStatus IS NULL OR i.assignmentStatus = :assignmentStatus)
+              AND (:assignedAdminId IS NULL OR i.assignedAdminId = :assignedAdminId)
+            """,
+            countQuery = """
+            SELECT COUNT(i) FROM Issue i
+            WHERE (:studentId IS NULL OR i.studentId = :studentId)
+              AND (:status IS NULL OR i.status = :status)
+              AND (:assignmentStatus IS NULL OR i.assignmentStatus = :assignmentStatus)
+              AND (:assignedAdminId IS NULL OR i.assignedAdminId = :assignedAdminId)
+            """)
+    Page<IssueSummary> findSummaries(
+            @Param("studentId") UUID studentId,
+            @Param("status") IssueStatus status,
+            @Param("assignmentStatus") IssueAssignmentStatus assignmentStatus,
+            @Param("assignedAdminId") UUID assignedAdminId,
+            Pageable pageable
+    );
+
+    // Solved before the cutoff and either not archived yet or with messages posted since archiving
+    // (served by idx_issues_status_solved_at)
+    @Query("""
+            SELECT i FROM Issue i
+            WHERE i.status = :status AND i.solvedAt < :solvedBefore
+              AND (NOT EXISTS (SELECT 1 FROM IssueMessageArchive a WHERE a.issueId = i.id)
+                   OR EXISTS (SELECT 1 FROM IssueMessage m WHERE m.issueId = i.id))
+            ORDER BY i.solvedAt
+            """)
+    List<Issue> findArchivable(
+            @Param("status") IssueStatus status,
+            @Param("solvedBefore") Instant solvedBefore,
+            Pageable pageable
+    );
+
+    // Bulk report export: issues with the given status solved inside [from, to), optional admin/student filters
+    @Query("""
+            SELECT i FROM Issue i
+            WHERE i.status = :status
+              AND i.solvedAt >= :from AND i.solvedAt < :to
+              AND (:assignedAdminId IS NULL OR i.assignedAdminId = :assignedAdminId)
+              AND (:studentId IS NULL OR i.studentId = :studentId)
+            """)
+    Slice<Issue> findForReportExport(
+            @Param("status") IssueStatus status,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("assignedAdminId") UUID assignedAdminId,
+            @Param("studentId") UUID studentId,
+            Pageable pageable
+    );
+
 }
@@ -0,0 +1,102 @@
+package com.dopaminelite.dl_issues_and_chat_service.repository;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over issue titles/descriptions and message content, backed by the
+ * search_vector GIN indexes and pg_trgm indexes from V3__issue_search.sql.
+ * Hits are ordered by (rank DESC, hit id ASC) and paged with a keyset on that pair.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IssueSearchRepository {
+
+    public record Cursor(float rank, UUID hitId) {
+    }
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=25, MinWords=8, MaxFragments=2, FragmentDelimiter=\" \u2026 \"";
+
+    private static final String HITS_SQL = """
+            WITH query AS (
+                SELECT plainto_tsquery('simple', :q) AS tsq
+            ),
+            hits AS (
+                SELECT 'ISSUE' AS hit_type, i.id AS hit_id, i.id AS issue_id,
+                       GREATEST(ts_rank(i.search_vector, query.tsq), similarity(i.title, :q)) AS rank
+                FROM public.dopaminelite_issues i, query
+                WHERE i.search_vector @@ query.tsq
+                   OR i.title ILIKE :pattern
+                   OR i.description ILIKE :pattern
+                UNION ALL
+                SELECT 'MESSAGE' AS hit_type, m.id AS hit_id, m.issue_id AS issue_id,
+                       GREATEST(ts_rank(m.search_vector, query.tsq), similarity(m.content, :q)) AS rank
+                FROM public.dopaminelite_issue_messages m, query
+                WHERE m.search_vector @@ query.tsq
+                   OR m.content ILIKE :pattern
+            ),
+            page AS (
+                SELECT hit_type, hit_id, issue_id, rank
+                FROM hits
+                %s
+                ORDER BY rank DESC, hit_id
+                LIMIT :limit
+            )
+            SELECT p.hit_type, p.hit_id, p.issue_id, p.rank, i.issue_number, i.title,
+                   ts_headline('simple',
+                               CASE WHEN p.hit_type = 'ISSUE'
+                                    THEN i.title || ' - ' || i.description
+                                    ELSE m.content END,
+                               query.tsq, '%s') AS snippet
+            FROM page p
+            JOIN public.dopaminelite_issues i ON i.id = p.issue_id
+            LEFT JOIN public.dopaminelite_issue_messages m ON p.hit_type = 'MESSAGE' AND m.id = p.hit_id
+            CROSS JOIN query
+            ORDER BY p.rank DESC, p.hit_id
+            """;
+
+    private static final String KEYSET_CLAUSE =
+            "WHERE rank < CAST(:cursorRank AS real) OR (rank = CAST(:cursorRank AS real) AND hit_id > :cursorId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<IssueSearchHit> search(String query, Cursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("pattern", "%" + escapeLike(query) + "%")
+                .addValue("limit", limit);
+
+        String keyset = "";
+        if (after != null) {
+            keyset = KEYSET_CLAUSE;
+            params.addValue("cursorRank", after.rank());
+            params.addValue("cursorId", after.hitId());
+        }
+
+        String sql = String.format(HITS_SQL, keyset, HEADLINE_OPTIONS.replace("'", "''"));
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            boolean message = "MESSAGE".equals(rs.getString("hit_type"));
+            UUID hitId = rs.getObject("hit_id", UUID.class);
+            return IssueSearchHit.builder()
+                    .type(rs.getString("hit_type"))
+                    .issueId(rs.getObject("issue_id", UUID.class))
+                    .messageId(message ? hitId : null)
+                    .issueNumber(rs.getLong("issue_number"))
+                    .title(rs.getString("title"))
+                    .snippet(rs.getString("snippet"))
+                    .rank(rs.getFloat("rank"))
+                    .build();
+        });
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
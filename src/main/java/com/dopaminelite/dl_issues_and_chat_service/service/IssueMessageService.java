@@ -4,14 +4,24 @@ import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueMessageListResponse;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessageCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.logging.SampledLogTurboFilter;
 import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -20,6 +30,8 @@ import java.util.UUID;
 public class IssueMessageService {
 
     private final IssueMessageRepository issueMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     public IssueMessage createMessage(UUID issueId,
                                       String content,
@@ -31,7 +43,11 @@ public class IssueMessageService {
             throw new IllegalArgumentException("issueId is required");
         }
 
-        log.debug("Creating message for issueId: {}, senderId: {}, senderRole: {}", issueId, senderId, senderRole);
+        // Guarded: three arguments would allocate the varargs array even with DEBUG off
+        if (log.isDebugEnabled()) {
+            log.debug(SampledLogTurboFilter.SAMPLED, "Creating message for issueId: {}, senderId: {}, senderRole: {}",
+                    issueId, senderId, senderRole);
+        }
 
         // Fallback sender id & role if authentication is not present
         UUID resolvedSenderId = senderId != null ? senderId : UUID.randomUUID();
@@ -43,30 +59,42 @@ public class IssueMessageService {
             resolvedRole = Role.STUDENT;
         }
 
-        // If your IssueMessage entity stores e.g. a single attachment, pick the first.
-        UploadedFileRef attachment = (attachments != null && !attachments.isEmpty()) ? attachments.get(0) : null;
+        // All attachments go to the child table; the first is also kept in the embedded columns
+        List<UploadedFileRef> files = attachments != null ? new ArrayList<>(attachments) : new ArrayList<>();
+        UploadedFileRef attachment = !files.isEmpty() ? files.get(0) : null;
 
         IssueMessage msg = IssueMessage.builder()
                 .issueId(issueId)
                 .content(content)
                 .attachment(attachment)
+                .attachments(files)
                 .senderId(resolvedSenderId)
                 .senderRole(resolvedRole)
                 .createdAt(Instant.now())
                 .build();
 
-        IssueMessage saved = issueMessageRepository.save(msg);
-        log.debug("Saved IssueMessage id: {} for issueId: {}", saved.getId(), issueId);
-        return saved;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            IssueMessage saved = issueMessageRepository.save(msg);
+            log.debug(SampledLogTurboFilter.SAMPLED, "Saved IssueMessage id: {} for issueId: {}", saved.getId(), issueId);
+            eventPublisher.publishEvent(new IssueMessageCreatedEvent(saved));
+            outcome = "success";
+            return saved;
+        } finally {
+            sample.stop(meterRegistry.timer("chat.message.create",
+                    "outcome", outcome, "attachments", files.isEmpty() ? "false" : "true"));
+        }
     }
 
     public IssueMessage createMessage(UUID issueId,
                                       String content,
                                       List<UploadedFileRef> attachments) {
-        log.debug("Creating message for issueId: {} without explicit sender", issueId);
+        log.debug(SampledLogTurboFilter.SAMPLED, "Creating message for issueId: {} without explicit sender", issueId);
         return createMessage(issueId, content, attachments, null, null);
     }
 
+    @Transactional(readOnly = true)
     public IssueMessageListResponse listMessages(UUID issueId, int offset, int limit) {
         if (issueId == null) {
             log.error("Attempted to list messages with null issueId");
@@ -79,10 +107,40 @@ public class IssueMessageService {
         var page = issueMessageRepository.findByIssueIdOrderByCreatedAtAsc(issueId, pageRequest);
 
         log.debug("Fetched {} messages for issueId: {}", page.getNumberOfElements(), issueId);
+        initializeAttachments(page.getContent());
 
         return IssueMessageListResponse.builder()
                 .items(page.getContent())
                 .total((int) page.getTotalElements())
                 .build();
     }
+
+    /**
+     * Loads the attachment lists of a page of messages while the session is open. Thanks to
+     * {@code @BatchSize} on the collection, the first access fetches the whole page in one query.
+     */
+    static void initializeAttachments(List<IssueMessage> messages) {
+        for (IssueMessage message : messages) {
+            Hibernate.initialize(message.getAttachments());
+        }
+    }
+
+    /**
+     * Sets the attachment lists of detached or unmanaged messages from one query for all of
+     * them. Messages without rows get an empty list, which falls back to the legacy columns.
+     */
+    static void fillAttachments(IssueMessageRepository repository, List<IssueMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        UUID[] ids = messages.stream().map(IssueMessage::getId).toArray(UUID[]::new);
+        Map<UUID, List<UploadedFileRef>> byMessage = new HashMap<>();
+        for (Object[] row : repository.findAttachmentsByMessageIds(ids)) {
+            byMessage.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+                    .add(new UploadedFileRef((String) row[1], (String) row[2], (String) row[3]));
+        }
+        for (IssueMessage message : messages) {
+            message.setAttachments(byMessage.getOrDefault(message.getId(), new ArrayList<>()));
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.ReportExportFormat;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueReportExportRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import com.dopaminelite.dl_issues_and_chat_service.utils.PdfGenerator;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
+import com.itextpdf.kernel.utils.PdfMerger;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@Slf4j
+public class IssueReportExportService {
+
+    private final IssueRepository issueRepository;
+    private final IssueMessageRepository issueMessageRepository;
+    private final UserServiceClient userServiceClient;
+    private final MessageArchiveService messageArchiveService;
+    private final Tracer tracer;
+    private final ExecutorService reportExecutor;
+    private final int batchSize;
+
+    public IssueReportExportService(
+            IssueRepository issueRepository,
+            IssueMessageRepository issueMessageRepository,
+            UserServiceClient userServiceClient,
+            MessageArchiveService messageArchiveService,
+            Tracer tracer,
+            @Qualifier("reportExecutor") ExecutorService reportExecutor,
+            @Value("${report.export.batch-size:20}") int batchSize) {
+        this.issueRepository = issueRepository;
+        this.issueMessageRepository = issueMessageRepository;
+        this.userServiceClient = userServiceClient;
+        this.messageArchiveService = messageArchiveService;
+        this.tracer = tracer;
+        this.reportExecutor = reportExecutor;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Streams the reports of all SOLVED issues matching the request into {@code out}.
+     * Issues are processed in batches of {@code report.export.batch-size}, so at most one
+     * batch of conversations and rendered PDFs is held in memory at a time.
+     */
+    public void export(IssueReportExportRequest request, OutputStream out) throws IOException {
+        ReportExportFormat format = request.getFormat() != null ? request.getFormat() : ReportExportFormat.ZIP;
+        log.debug("Exporting issue reports as {} for solvedAt range [{}, {}), assignedAdminId: {}, studentId: {}",
+                format, request.getFrom(), request.getTo(), request.getAssignedAdminId(), request.getStudentId());
+
+        // User details are shared across all batches of this export
+        Map<UUID, UserInfo> userMap = new HashMap<>();
+        Set<UUID> lookedUpUserIds = new HashSet<>();
+        int exported = 0;
+
+        try (ReportSink sink = format == ReportExportFormat.PDF ? new MergedPdfSink(out) : new ZipSink(out)) {
+            Pageable pageable = PageRequest.of(0, batchSize, Sort.by("solvedAt", "id"));
+            Slice<Issue> slice;
+            do {
+                slice = issueRepository.findForReportExport(
+                        IssueStatus.SOLVED,
+                        request.getFrom(),
+                        request.getTo(),
+                        request.getAssignedAdminId(),
+                        request.getStudentId(),
+                        pageable
+                );
+                exported += exportBatch(slice.getContent(), userMap, lookedUpUserIds, sink);
+                pageable = slice.nextPageable();
+            } while (slice.hasNext());
+        }
+
+        log.debug("Exported {} issue reports as {}", exported, format);
+    }
+
+    private int exportBatch(List<Issue> issues,
+                            Map<UUID, UserInfo> userMap,
+                            Set<UUID> lookedUpUserIds,
+                            ReportSink sink) throws IOException {
+        if (issues.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> issueIds = issues.stream().map(Issue::getId).collect(Collectors.toList());
+        // Archived conversations come first; anything posted after archiving is still hot
+        Map<UUID, List<IssueMessage>> messagesByIssue = new HashMap<>(messageArchiveService.findArchivedMessages(issueIds));
+        Instant since = issues.stream()
+                .map(issue -> IssueMessageRepository.earliestMessageTime(issue.getCreatedAt()))
+                .min(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        for (IssueMessage m : issueMessageRepository.findByIssueIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(issueIds, since)) {
+            messagesByIssue.computeIfAbsent(m.getIssueId(), k -> new ArrayList<>()).add(m);
+        }
+
+        // One user lookup per batch, only for users no earlier batch has asked for
+        List<UUID> newUserIds = Stream.concat(
+                issues.stream().flatMap(issue -> Stream.of(issue.getStudentId(), issue.getAssignedAdminId())),
+                messagesByIssue.values().stream().flatMap(List::stream).map(IssueMessage::getSenderId)
+        ).filter(id -> id != null && lookedUpUserIds.add(id)).collect(Collectors.toList());
+
+        if (!newUserIds.isEmpty()) {
+            userMap.putAll(userServiceClient.fetchUsersByIds(newUserIds));
+        }
+
+        // userMap is not modified while the render tasks of this batch are running
+        Map<UUID, UserInfo> users = Collections.unmodifiableMap(userMap);
+        // Render spans are children of the export's span, although they run on pool threads
+        Span parent = tracer.currentSpan();
+        List<Future<byte[]>> reports = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            List<IssueMessage> messages = messagesByIssue.getOrDefault(issue.getId(), Collections.emptyList());
+            reports.add(reportExecutor.submit(() -> {
+                try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                    return PdfGenerator.generateIssueReport(issue, messages, users, tracer);
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < issues.size(); i++) {
+                sink.add(issues.get(i), await(reports.get(i)));
+            }
+        } catch (IOException | RuntimeException e) {
+            reports.forEach(report -> report.cancel(true));
+            throw e;
+        }
+        return issues.size();
+    }
+
+    private static byte[] await(Future<byte[]> report) throws IOException {
+        try {
+            return report.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Report export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Report generation failed", e.getCause());
+        }
+    }
+
+    // ===== OUTPUT SINKS =====
+    private interface ReportSink extends Closeable {
+        void add(Issue issue, byte[] pdf) throws IOException;
+    }
+
+    private static final class ZipSink implements ReportSink {
+        private final ZipOutputStream zip;
+
+        private ZipSink(OutputStream out) {
+            this.zip = new ZipOutputStream(out);
+            // Report PDFs are already compressed internally
+            this.zip.setLevel(Deflater.BEST_SPEED);
+        }
+
+        @Override
+        public void add(Issue issue, byte[] pdf) throws IOException {
+            zip.putNextEntry(new ZipEntry("issue-" + issue.getIssueNumber() + ".pdf"));
+            zip.write(pdf);
+            zip.closeEntry();
+            zip.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // finish() rather than close(): the servlet container owns the response stream
+            zip.finish();
+            zip.flush();
+        }
+    }
+
+    private static final class MergedPdfSink implements ReportSink {
+        private final PdfDocument merged;
+        private final PdfMerger merger;
+
+        private MergedPdfSink(OutputStream out) {
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
+            this.merged = new PdfDocument(writer);
+            this.merged.getCatalog().setPageMode(PdfName.UseOutlines);
+            this.merger = new PdfMerger(merged, false, false);
+        }
+
+        @Override
+        public void add(Issue issue, byte[] pdf) throws IOException {
+            int firstPage = merged.getNumberOfPages() + 1;
+            try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+                merger.merge(source, 1, source.getNumberOfPages());
+            }
+
+            merged.getOutlines(false)
+                    .addOutline("Issue No. " + issue.getIssueNumber())
+                    .addDestination(PdfExplicitDestination.createFit(merged.getPage(firstPage)));
+
+            // Copied pages are written out immediately so memory stays bounded by one report
+            for (int page = firstPage; page <= merged.getNumberOfPages(); page++) {
+                merged.getPage(page).flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (merged.getNumberOfPages() == 0) {
+                // A PDF needs at least one page, even when no issue matched the filters
+                merged.addNewPage();
+            }
+            merged.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSearchHit;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSearchResponse;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueSearchService {
+
+    static final int MIN_QUERY_LENGTH = 2;
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int MAX_LIMIT = 50;
+
+    private final IssueSearchRepository issueSearchRepository;
+
+    public IssueSearchResponse search(String query, String cursor, int limit) {
+        String q = query == null ? "" : query.trim();
+        if (q.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            q = q.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        int pageSize = Math.min(Math.max(1, limit), MAX_LIMIT);
+        IssueSearchRepository.Cursor after = decodeCursor(cursor);
+        log.debug("Searching issues for query: '{}', after: {}, limit: {}", q, after, pageSize);
+
+        // Fetch one extra hit to know whether another page exists
+        List<IssueSearchHit> hits = issueSearchRepository.search(q, after, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        hits.forEach(hit -> hit.setSnippet(escapeSnippet(hit.getSnippet())));
+
+        String nextCursor = null;
+        if (hasMore) {
+            IssueSearchHit last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(last.getRank(), last.getMessageId() != null ? last.getMessageId() : last.getIssueId());
+        }
+
+        return IssueSearchResponse.builder()
+                .items(hits)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Snippets contain raw user text; escape everything but the <mark> tags added by ts_headline
+    static String escapeSnippet(String snippet) {
+        if (snippet == null) return null;
+        return HtmlUtils.htmlEscape(snippet)
+                .replace("&lt;mark&gt;", "<mark>")
+                .replace("&lt;/mark&gt;", "</mark>");
+    }
+
+    static String encodeCursor(float rank, UUID hitId) {
+        String raw = Float.toString(rank) + ":" + hitId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static IssueSearchRepository.Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new IssueSearchRepository.Cursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
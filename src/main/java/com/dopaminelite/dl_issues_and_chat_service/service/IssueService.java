@@ -4,26 +4,32 @@ import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStat
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueAssignRequest;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueCreateRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueFilterRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSummary;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueUpdateStatusRequest;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
 import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueNumberGenerator;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueUpdatedEvent;
 import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
 import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
 import com.dopaminelite.dl_issues_and_chat_service.utils.PdfGenerator;
+import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +42,9 @@ public class IssueService {
     private final IssueMessageRepository issueMessageRepository;
     private final IssueNumberGenerator issueNumberGenerator;
     private final UserServiceClient userServiceClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessageArchiveService messageArchiveService;
+    private final Tracer tracer;
 
     public Issue createIssue(IssueCreateRequest request) {
         log.debug("Creating issue for studentId: {}", request.getStudentId());
@@ -51,9 +60,13 @@ public class IssueService {
         issue.setCreatedAt(now);
         issue.setUpdatedAt(now);
         issue.setIssueNumber(issueNumberGenerator.next());
+        if (request.getAttachments() != null) {
+            issue.setAttachments(new ArrayList<>(request.getAttachments()));
+        }
 
         Issue saved = issueRepository.save(issue);
         log.debug("Created issue with id: {}", saved.getId());
+        eventPublisher.publishEvent(new IssueCreatedEvent(saved));
         return saved;
     }
 
@@ -121,11 +134,82 @@ public class IssueService {
         return issueRepository.findAll(pageable);
     }
 
+    /**
+     * Summary list with the same filter semantics as the full list: a student filter only
+     * combines with status, otherwise status/assignment/admin filters combine freely.
+     */
+    public Page<IssueSummary> getIssueSummaries(IssueFilterRequest filter, Pageable pageable) {
+        log.debug("Fetching issue summaries with filters: {}, pageable: {}", filter, pageable);
+        if (filter.getStudentId() != null) {
+            return issueRepository.findSummaries(filter.getStudentId(), filter.getStatus(), null, null, pageable);
+        }
+        return issueRepository.findSummaries(null, filter.getStatus(), filter.getAssignmentStatus(),
+                filter.getAssignedAdminId(), pageable);
+    }
+
     public Optional<Issue> getIssueById(UUID issueId) {
         log.debug("Fetching issue by id: {}", issueId);
         return issueRepository.findById(issueId);
     }
 
+    public Optional<Issue> getIssueByNumber(Long issueNumber) {
+        log.debug("Fetching issue by number: {}", issueNumber);
+        // The unique index on issue_number makes this as cheap as a primary-key lookup
+        return issueRepository.findByIssueNumber(issueNumber);
+    }
+
+    /**
+     * Resolves several issue numbers at once. Results follow the order of {@code issueNumbers};
+     * unknown numbers are skipped.
+     */
+    public List<Issue> getIssuesByNumbers(Collection<Long> issueNumbers) {
+        log.debug("Fetching {} issues by number", issueNumbers.size());
+        Set<Long> distinct = new LinkedHashSet<>(issueNumbers);
+        Map<Long, Issue> byNumber = new HashMap<>();
+        for (Issue issue : issueRepository.findByIssueNumberIn(distinct)) {
+            byNumber.put(issue.getIssueNumber(), issue);
+        }
+
+        return distinct.stream()
+                .map(byNumber::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads several issues with one query. Results follow the order of {@code issueIds};
+     * unknown ids are skipped.
+     */
+    public List<Issue> getIssuesByIds(List<UUID> issueIds) {
+        log.debug("Fetching {} issues by id", issueIds.size());
+        Map<UUID, Issue> byId = issueRepository.findAllByIdIn(issueIds.toArray(UUID[]::new)).stream()
+                .collect(Collectors.toMap(Issue::getId, issue -> issue));
+        return issueIds.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Attachments of the given issues grouped by issue id, loaded with a single query.
+     * Issues without attachments are absent from the map.
+     */
+    public Map<UUID, List<UploadedFileRef>> getAttachmentsByIssueIds(Collection<UUID> issueIds) {
+        if (issueIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<UUID, List<UploadedFileRef>> byIssue = new HashMap<>();
+        for (Object[] row : issueRepository.findAttachmentsByIssueIds(issueIds)) {
+            byIssue.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((UploadedFileRef) row[1]);
+        }
+        return byIssue;
+    }
+
+    public String getCombinedVersion(List<UUID> issueIds) {
+        return issueRepository.findCombinedVersion(issueIds.toArray(UUID[]::new));
+    }
+
     public Issue assignIssue(UUID issueId, IssueAssignRequest request) {
         log.debug("Assigning issueId: {} to adminId: {}", issueId, request.getAdminId());
         Issue issue = issueRepository.findById(issueId)
@@ -140,6 +224,7 @@ public class IssueService {
 
         Issue saved = issueRepository.save(issue);
         log.debug("Assigned issueId: {} to adminId: {}", saved.getId(), saved.getAssignedAdminId());
+        eventPublisher.publishEvent(new IssueUpdatedEvent(saved));
         return saved;
     }
 
@@ -169,6 +254,7 @@ public class IssueService {
 
         Issue saved = issueRepository.save(issue);
         log.debug("Updated issueId: {} status to {}", saved.getId(), saved.getStatus());
+        eventPublisher.publishEvent(new IssueUpdatedEvent(saved));
         return saved;
     }
 
@@ -188,9 +274,51 @@ public class IssueService {
         }
     }
 
-    public Page<IssueMessage> getMessagesByIssueId(UUID issueId, Pageable pageable) {
-        log.debug("Fetching messages for issueId: {} with pageable: {}", issueId, pageable);
-        return issueMessageRepository.findByIssueIdOrderByCreatedAtAsc(issueId, pageable);
+    /**
+     * One page of the conversation. With {@code preview}, long bodies are cut to their first
+     * {@link IssueMessage#PREVIEW_LENGTH} characters and flagged {@code contentTruncated};
+     * clients fetch the full message on demand.
+     */
+    @Transactional(readOnly = true)
+    public Page<IssueMessage> getMessagesByIssueId(UUID issueId, Pageable pageable, boolean preview) {
+        log.debug("Fetching messages for issueId: {} with pageable: {}, preview: {}", issueId, pageable, preview);
+        Optional<List<IssueMessage>> archived = messageArchiveService.findArchivedMessages(issueId);
+        if (archived.isPresent()) {
+            // Archived conversations are read rarely; merge and page them in memory
+            List<IssueMessage> all = withHotMessages(issueId, archived.get());
+            int from = (int) Math.min(pageable.getOffset(), all.size());
+            int to = Math.min(from + pageable.getPageSize(), all.size());
+            List<IssueMessage> items = preview
+                    ? all.subList(from, to).stream().map(IssueMessage::toPreview).toList()
+                    : all.subList(from, to);
+            return new PageImpl<>(items, pageable, all.size());
+        }
+
+        if (!preview) {
+            Page<IssueMessage> page = issueMessageRepository.findByIssueIdOrderByCreatedAtAsc(issueId, pageable);
+            IssueMessageService.initializeAttachments(page.getContent());
+            return page;
+        }
+        Page<IssueMessage> page = issueMessageRepository.findPreviewsByIssueId(issueId, pageable);
+        // Preview items are not managed, so their attachment lists are loaded in one query per page
+        IssueMessageService.fillAttachments(issueMessageRepository, page.getContent());
+        return page;
+    }
+
+    /**
+     * One message with its full content, from the hot table or the issue's archive.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IssueMessage> getMessage(UUID issueId, UUID messageId) {
+        log.debug("Fetching messageId: {} of issueId: {}", messageId, issueId);
+        Optional<IssueMessage> hot = issueMessageRepository.findById(messageId)
+                .filter(message -> issueId.equals(message.getIssueId()));
+        if (hot.isPresent()) {
+            IssueMessageService.initializeAttachments(List.of(hot.get()));
+            return hot;
+        }
+        return messageArchiveService.findArchivedMessages(issueId)
+                .flatMap(messages -> messages.stream().filter(m -> messageId.equals(m.getId())).findFirst());
     }
 
     public byte[] generateIssueReport(UUID issueId) {
@@ -206,29 +334,49 @@ public class IssueService {
             throw new IllegalStateException("Report cannot be generated unless issue is SOLVED");
         }
 
-        List<IssueMessage> messages = issueMessageRepository.findByIssueIdOrderByCreatedAtAsc(issueId);
+        List<IssueMessage> messages = messageArchiveService.findArchivedMessages(issueId)
+                .map(archivedMessages -> withHotMessages(issueId, archivedMessages))
+                .orElseGet(() -> issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                        issueId, IssueMessageRepository.earliestMessageTime(issue.getCreatedAt())));
 
         // Collect all unique user IDs from the issue and messages
-        List<UUID> userIds = Stream.concat(
-                Stream.of(issue.getStudentId(), issue.getAssignedAdminId()),
-                messages.stream().map(IssueMessage::getSenderId)
-        ).filter(id -> id != null).distinct().collect(Collectors.toList());
+        List<UUID> userIds = collectUserIds(issue, messages);
 
-        log.info("Collected user IDs for PDF generation: studentId={}, assignedAdminId={}, total unique IDs={}",
-                issue.getStudentId(), issue.getAssignedAdminId(), userIds.size());
-        log.info("User IDs to fetch: {}", userIds);
+        log.debug("Collected {} user ids for report of issueId: {}", userIds.size(), issueId);
+        log.trace("User ids to fetch: {}", userIds);
 
         // Fetch user details
         Map<UUID, UserInfo> userMap = userServiceClient.fetchUsersByIds(userIds);
 
-        log.info("User map returned {} entries", userMap.size());
-        if (issue.getAssignedAdminId() != null) {
-            UserInfo adminInfo = userMap.get(issue.getAssignedAdminId());
-            log.info("Assigned admin {} info in map: {}", issue.getAssignedAdminId(),
-                    adminInfo != null ? adminInfo.getFullName() : "NOT FOUND");
+        log.debug("User service returned {} of {} users", userMap.size(), userIds.size());
+        if (issue.getAssignedAdminId() != null && !userMap.containsKey(issue.getAssignedAdminId())) {
+            log.debug("Assigned admin {} of issueId: {} not found; report shows Unknown User",
+                    issue.getAssignedAdminId(), issueId);
         }
 
         log.debug("Generating PDF with {} messages for issueId: {}", messages.size(), issueId);
-        return PdfGenerator.generateIssueReport(issue, messages, userMap);
+        return PdfGenerator.generateIssueReport(issue, messages, userMap, tracer);
+    }
+
+    // Messages posted after an issue was archived are still in the hot table
+    private List<IssueMessage> withHotMessages(UUID issueId, List<IssueMessage> archived) {
+        Instant since = archived.isEmpty() ? Instant.EPOCH
+                : IssueMessageRepository.earliestMessageTime(archived.get(archived.size() - 1).getCreatedAt());
+        List<IssueMessage> hot = issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(issueId, since);
+        if (hot.isEmpty()) {
+            return archived;
+        }
+        IssueMessageService.initializeAttachments(hot);
+        List<IssueMessage> all = new ArrayList<>(archived.size() + hot.size());
+        all.addAll(archived);
+        all.addAll(hot);
+        return all;
+    }
+
+    static List<UUID> collectUserIds(Issue issue, List<IssueMessage> messages) {
+        return Stream.concat(
+                Stream.of(issue.getStudentId(), issue.getAssignedAdminId()),
+                messages.stream().map(IssueMessage::getSenderId)
+        ).filter(id -> id != null).distinct().collect(Collectors.toList());
     }
 }
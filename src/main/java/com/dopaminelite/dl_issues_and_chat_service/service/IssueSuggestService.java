@@ -0,0 +1,189 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSuggestIndexStats;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSuggestion;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessageCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import com.dopaminelite.dl_issues_and_chat_service.utils.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-ahead search for the admin command palette.
+ * <p>
+ * Keeps issue titles, issue numbers and recent message content in an in-memory
+ * {@link InvertedIndex}. The index is warmed from the database once the application is
+ * ready and then follows {@link IssueCreatedEvent} / {@link IssueMessageCreatedEvent}.
+ * Messages are evicted oldest-first when the memory budget is reached; issues never are.
+ */
+@Service
+@Slf4j
+public class IssueSuggestService {
+
+    static final int MAX_LIMIT = 20;
+    private static final int WARMUP_PAGE_SIZE = 1000;
+
+    private record IssueHeader(UUID issueId, Long issueNumber, String title) {
+    }
+
+    private record SuggestDoc(IssueHeader issue, UUID messageId) {
+    }
+
+    private final IssueRepository issueRepository;
+    private final IssueMessageRepository issueMessageRepository;
+    private final Duration messageWindow;
+    private final int maxMessageChars;
+
+    private final InvertedIndex<SuggestDoc> index;
+    private final Map<UUID, IssueHeader> issues = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public IssueSuggestService(IssueRepository issueRepository,
+                               IssueMessageRepository issueMessageRepository,
+                               @Value("${search.suggest.max-bytes:33554432}") long maxBytes,
+                               @Value("${search.suggest.message-days:30}") int messageDays,
+                               @Value("${search.suggest.max-message-chars:500}") int maxMessageChars) {
+        this.issueRepository = issueRepository;
+        this.issueMessageRepository = issueMessageRepository;
+        this.messageWindow = Duration.ofDays(messageDays);
+        this.maxMessageChars = maxMessageChars;
+        // Message docs share their issue's header, so only the title is counted once
+        this.index = new InvertedIndex<>(maxBytes,
+                doc -> doc.messageId() == null && doc.issue().title() != null ? 2 * doc.issue().title().length() : 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        Thread builder = new Thread(this::warmUp, "issue-suggest-warmup");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            int page = 0;
+            Slice<Issue> issueSlice;
+            do {
+                issueSlice = issueRepository.findAll(PageRequest.of(page++, WARMUP_PAGE_SIZE, Sort.by("createdAt")));
+                issueSlice.forEach(this::indexIssue);
+            } while (issueSlice.hasNext());
+
+            Instant since = Instant.now().minus(messageWindow);
+            page = 0;
+            Slice<IssueMessage> messageSlice;
+            do {
+                messageSlice = issueMessageRepository.findByCreatedAtGreaterThanEqual(since,
+                        PageRequest.of(page++, WARMUP_PAGE_SIZE, Sort.by("createdAt")));
+                messageSlice.forEach(this::indexMessage);
+            } while (messageSlice.hasNext());
+
+            ready = true;
+            InvertedIndex.Stats stats = index.stats();
+            log.info("Suggest index ready: {} documents, {} terms, ~{} KB in {} ms",
+                    stats.documents(), stats.terms(), stats.estimatedBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to warm up suggest index", e);
+        }
+    }
+
+    @EventListener
+    public void onIssueCreated(IssueCreatedEvent event) {
+        indexIssue(event.issue());
+    }
+
+    @EventListener
+    public void onMessageCreated(IssueMessageCreatedEvent event) {
+        indexMessage(event.message());
+    }
+
+    public List<IssueSuggestion> suggest(String query, int limit) {
+        int max = Math.min(Math.max(1, limit), MAX_LIMIT);
+        // Over-fetch so issue-level matches can be ranked ahead of message matches
+        List<SuggestDoc> docs = index.search(query, max * 4);
+
+        Map<UUID, IssueSuggestion> byIssue = new LinkedHashMap<>();
+        for (SuggestDoc doc : docs) {
+            if (doc.messageId() == null) {
+                byIssue.putIfAbsent(doc.issue().issueId(), toSuggestion(doc));
+            }
+        }
+        for (SuggestDoc doc : docs) {
+            if (byIssue.size() >= max) break;
+            byIssue.putIfAbsent(doc.issue().issueId(), toSuggestion(doc));
+        }
+
+        List<IssueSuggestion> result = new ArrayList<>(byIssue.values());
+        return result.size() > max ? result.subList(0, max) : result;
+    }
+
+    public IssueSuggestIndexStats stats() {
+        InvertedIndex.Stats stats = index.stats();
+        return IssueSuggestIndexStats.builder()
+                .ready(ready)
+                .documents(stats.documents())
+                .terms(stats.terms())
+                .estimatedBytes(stats.estimatedBytes())
+                .maxBytes(stats.maxBytes())
+                .evictedDocuments(stats.evictedDocuments())
+                .overBudgetAdds(stats.overBudgetAdds())
+                .queries(stats.queries())
+                .averageQueryMicros(stats.queries() == 0 ? 0 : stats.totalQueryNanos() / 1000.0 / stats.queries())
+                .build();
+    }
+
+    // ===== HELPERS =====
+    private void indexIssue(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            return;
+        }
+        IssueHeader header = new IssueHeader(issue.getId(), issue.getIssueNumber(), issue.getTitle());
+        if (issues.putIfAbsent(issue.getId(), header) != null) {
+            return;
+        }
+        String text = issue.getIssueNumber() != null ? issue.getTitle() + " " + issue.getIssueNumber() : issue.getTitle();
+        index.add(issue.getId(), new SuggestDoc(header, null), text, false);
+    }
+
+    private void indexMessage(IssueMessage message) {
+        if (message == null || message.getId() == null || message.getContent() == null) {
+            return;
+        }
+        IssueHeader header = issues.get(message.getIssueId());
+        if (header == null) {
+            log.debug("Skipping suggest indexing of message {}: issue {} not indexed", message.getId(), message.getIssueId());
+            return;
+        }
+        String content = message.getContent();
+        if (content.length() > maxMessageChars) {
+            content = content.substring(0, maxMessageChars);
+        }
+        index.add(message.getId(), new SuggestDoc(header, message.getId()), content, true);
+    }
+
+    private static IssueSuggestion toSuggestion(SuggestDoc doc) {
+        return IssueSuggestion.builder()
+                .issueId(doc.issue().issueId())
+                .issueNumber(doc.issue().issueNumber())
+                .title(doc.issue().title())
+                .matchedIn(doc.messageId() == null ? "ISSUE" : "MESSAGE")
+                .messageId(doc.messageId())
+                .build();
+    }
+}
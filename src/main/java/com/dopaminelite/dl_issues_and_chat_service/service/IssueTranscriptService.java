@@ -0,0 +1,143 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import com.dopaminelite.dl_issues_and_chat_service.constants.TranscriptFormat;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.utils.TranscriptWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class IssueTranscriptService {
+
+    // Streamed messages are collected in batches of this size: one attachments query per batch,
+    // and bytes are pushed to the client after each batch instead of only when the buffer fills
+    private static final int BATCH_SIZE = 100;
+
+    private final IssueMessageRepository issueMessageRepository;
+    private final UserServiceClient userServiceClient;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final MessageArchiveService messageArchiveService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public IssueTranscriptService(IssueMessageRepository issueMessageRepository,
+                                  UserServiceClient userServiceClient,
+                                  ObjectMapper objectMapper,
+                                  EntityManager entityManager,
+                                  MessageArchiveService messageArchiveService,
+                                  PlatformTransactionManager transactionManager) {
+        this.issueMessageRepository = issueMessageRepository;
+        this.userServiceClient = userServiceClient;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.messageArchiveService = messageArchiveService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the conversation of {@code issue} to {@code out} in the given format.
+     * Messages are read through a database cursor and detached once written, so memory
+     * use does not grow with the conversation length. {@code out} is flushed, not closed.
+     */
+    public void writeTranscript(Issue issue, TranscriptFormat format, OutputStream out) throws IOException {
+        UUID issueId = issue.getId();
+        log.debug("Writing {} transcript for issueId: {}", format, issueId);
+
+        // Archived conversations are small enough to decode in full before streaming the hot tail
+        List<IssueMessage> archived = messageArchiveService.findArchivedMessages(issueId).orElse(List.of());
+        Instant since = archived.isEmpty()
+                ? IssueMessageRepository.earliestMessageTime(issue.getCreatedAt())
+                : IssueMessageRepository.earliestMessageTime(archived.get(archived.size() - 1).getCreatedAt());
+
+        // Sender names are resolved up front from the distinct senders only
+        var userIds = Stream.of(
+                Stream.of(issue.getStudentId(), issue.getAssignedAdminId()),
+                archived.stream().map(IssueMessage::getSenderId),
+                issueMessageRepository.findDistinctSenderIdsByIssueId(issueId, since).stream()
+        ).flatMap(ids -> ids).filter(id -> id != null).distinct().collect(Collectors.toList());
+        Map<UUID, UserInfo> userMap = userServiceClient.fetchUsersByIds(userIds);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TranscriptWriter transcript = TranscriptWriter.create(format, writer, objectMapper);
+        transcript.writeHeader(issue);
+        for (IssueMessage m : archived) {
+            transcript.writeMessage(m, getUserName(m.getSenderId(), userMap));
+        }
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<IssueMessage> messages = issueMessageRepository.streamByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                        issueId, since)) {
+                    int written = archived.size();
+                    List<IssueMessage> batch = new ArrayList<>(BATCH_SIZE);
+                    for (IssueMessage m : (Iterable<IssueMessage>) messages::iterator) {
+                        // Detached before its lazy attachments are touched, so no per-message SELECT runs
+                        entityManager.detach(m);
+                        batch.add(m);
+                        if (batch.size() == BATCH_SIZE) {
+                            written += writeBatch(transcript, batch, userMap);
+                        }
+                    }
+                    written += writeBatch(transcript, batch, userMap);
+                    log.debug("Wrote {} messages to transcript for issueId: {}", written, issueId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Typically the client disconnected mid-download
+            throw e.getCause();
+        }
+
+        transcript.writeFooter();
+        writer.flush();
+    }
+
+    // ===== HELPERS =====
+    private int writeBatch(TranscriptWriter transcript, List<IssueMessage> batch, Map<UUID, UserInfo> userMap) throws IOException {
+        int size = batch.size();
+        if (size == 0) {
+            return 0;
+        }
+        IssueMessageService.fillAttachments(issueMessageRepository, batch);
+        for (IssueMessage m : batch) {
+            transcript.writeMessage(m, getUserName(m.getSenderId(), userMap));
+        }
+        batch.clear();
+        transcript.flush();
+        return size;
+    }
+
+    private static String getUserName(UUID id, Map<UUID, UserInfo> map) {
+        if (id == null) return "Unknown User";
+        UserInfo u = map.get(id);
+        return u != null && u.getFullName() != null
+                ? u.getFullName()
+                : "Unknown User";
+    }
+}
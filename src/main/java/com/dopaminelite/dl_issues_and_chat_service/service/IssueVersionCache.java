@@ -0,0 +1,170 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessageCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessagesArchivedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueUpdatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageArchiveRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags for the issue and message polling endpoints.
+ * <p>
+ * Versions come from small probe queries (issue {@code updated_at}; archived and hot message
+ * counts plus the newest archived time and hot message id) and are cached per issue until a
+ * local write or archive event for that issue arrives or {@code issues.etag.cache-ms} passes.
+ * Writes handled by other instances raise no local event, so the TTL bounds how long a stale
+ * ETag can be answered with 304.
+ */
+@Component
+public class IssueVersionCache {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private final IssueRepository issueRepository;
+    private final IssueMessageRepository issueMessageRepository;
+    private final IssueMessageArchiveRepository archiveRepository;
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<UUID, Version> issueVersions = lruMap();
+    private final Map<UUID, Version> messageVersions = lruMap();
+    // Bumped on every write so a probe that raced with a write does not cache its stale result
+    private final AtomicLong writes = new AtomicLong();
+
+    @Autowired
+    public IssueVersionCache(IssueRepository issueRepository,
+                             IssueMessageRepository issueMessageRepository,
+                             IssueMessageArchiveRepository archiveRepository,
+                             @Value("${issues.etag.cache-ms:2000}") long ttlMs) {
+        this(issueRepository, issueMessageRepository, archiveRepository, Duration.ofMillis(ttlMs), System::nanoTime);
+    }
+
+    IssueVersionCache(IssueRepository issueRepository, IssueMessageRepository issueMessageRepository,
+                      IssueMessageArchiveRepository archiveRepository, Duration ttl, LongSupplier nanoClock) {
+        this.issueRepository = issueRepository;
+        this.issueMessageRepository = issueMessageRepository;
+        this.archiveRepository = archiveRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public static String issueETag(Instant updatedAt) {
+        if (updatedAt == null) {
+            return "\"i0\"";
+        }
+        return "\"i" + Long.toHexString(updatedAt.getEpochSecond()) + "." + Integer.toHexString(updatedAt.getNano()) + "\"";
+    }
+
+    public static String messagesETag(long count, UUID lastMessageId) {
+        return "\"m" + count + "." + (lastMessageId != null ? lastMessageId : "none") + "\"";
+    }
+
+    // Archived conversations get their own prefix, so they never share a tag with an empty one
+    public static String messagesETag(int archivedCount, Instant archivedLastAt, long count, UUID lastMessageId) {
+        String archived = archivedLastAt != null
+                ? Long.toHexString(archivedLastAt.getEpochSecond()) + "." + Integer.toHexString(archivedLastAt.getNano())
+                : "0";
+        return "\"a" + archivedCount + "." + archived + ".m" + count + "." + (lastMessageId != null ? lastMessageId : "none") + "\"";
+    }
+
+    /**
+     * ETag of the issue, or empty when the issue does not exist.
+     */
+    public Optional<String> issueETag(UUID issueId) {
+        return lookup(issueVersions, issueId,
+                () -> issueRepository.findUpdatedAtById(issueId).map(IssueVersionCache::issueETag).orElse(null));
+    }
+
+    /**
+     * ETag of the issue's message list, derived from the archive's message count and newest
+     * message time plus the hot table's message count and newest message id. Empty when the
+     * issue does not exist, so its tag can never match a client's cached empty page.
+     */
+    public Optional<String> messagesETag(UUID issueId) {
+        return lookup(messageVersions, issueId, () -> {
+            Optional<Instant> createdAt = issueRepository.findCreatedAtById(issueId);
+            if (createdAt.isEmpty()) {
+                return null;
+            }
+            // Bounded by the issue's creation so the probes skip older monthly partitions
+            Instant since = IssueMessageRepository.earliestMessageTime(createdAt.get());
+            Optional<IssueMessageArchiveRepository.ArchiveVersion> archive = archiveRepository.findVersionByIssueId(issueId);
+            long count = issueMessageRepository.countByIssueIdAndCreatedAtGreaterThanEqual(issueId, since);
+            List<UUID> latest = count == 0 ? List.of()
+                    : issueMessageRepository.findLatestIdsByIssueId(issueId, since, PageRequest.of(0, 1));
+            UUID lastMessageId = latest.isEmpty() ? null : latest.get(0);
+            return archive
+                    .map(a -> messagesETag(a.getMessageCount(), a.getLastMessageAt(), count, lastMessageId))
+                    .orElseGet(() -> messagesETag(count, lastMessageId));
+        });
+    }
+
+    @EventListener
+    public void onIssueCreated(IssueCreatedEvent event) {
+        writes.incrementAndGet();
+        messageVersions.remove(event.issue().getId());
+    }
+
+    @EventListener
+    public void onIssueUpdated(IssueUpdatedEvent event) {
+        writes.incrementAndGet();
+        issueVersions.remove(event.issue().getId());
+    }
+
+    @EventListener
+    public void onMessageCreated(IssueMessageCreatedEvent event) {
+        writes.incrementAndGet();
+        messageVersions.remove(event.message().getIssueId());
+    }
+
+    @EventListener
+    public void onMessagesArchived(IssueMessagesArchivedEvent event) {
+        writes.incrementAndGet();
+        messageVersions.remove(event.issueId());
+    }
+
+    // ===== HELPERS =====
+    private Optional<String> lookup(Map<UUID, Version> cache, UUID issueId, Supplier<String> probe) {
+        Version cached = cache.get(issueId);
+        if (cached != null && nanoClock.getAsLong() - cached.probedAt() < ttlNanos) {
+            return Optional.of(cached.eTag());
+        }
+
+        long writesBefore = writes.get();
+        long probedAt = nanoClock.getAsLong();
+        String version = probe.get();
+        if (version != null && writes.get() == writesBefore) {
+            cache.put(issueId, new Version(version, probedAt));
+        } else {
+            cache.remove(issueId);
+        }
+        return Optional.ofNullable(version);
+    }
+
+    private static Map<UUID, Version> lruMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Version> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+    private record Version(String eTag, long probedAt) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.dto.ArchivedMessage;
+import com.dopaminelite.dl_issues_and_chat_service.dto.MessageArchiveReport;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessageArchive;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessagesArchivedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageArchiveRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves conversations of long-solved issues out of the hot message table into
+ * {@code dopaminelite_issue_message_archive}, one gzip-compressed JSON array per issue.
+ * <p>
+ * Readers call {@link #findArchivedMessages} first; any message posted after archiving still
+ * lives in the hot table and is appended by the caller's regular query. The next run merges
+ * such messages into the existing archive.
+ */
+@Service
+@Slf4j
+public class MessageArchiveService {
+
+    private static final TypeReference<List<ArchivedMessage>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    // Keeps the IN lists of the delete statements well below the bind parameter limit
+    private static final int DELETE_CHUNK = 1000;
+
+    private final IssueRepository issueRepository;
+    private final IssueMessageRepository issueMessageRepository;
+    private final IssueMessageArchiveRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration solvedFor;
+    private final int batchSize;
+    private final boolean enabled;
+
+    public MessageArchiveService(IssueRepository issueRepository,
+                                 IssueMessageRepository issueMessageRepository,
+                                 IssueMessageArchiveRepository archiveRepository,
+                                 ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${messages.archive.solved-days:90}") int solvedDays,
+                                 @Value("${messages.archive.batch-size:50}") int batchSize,
+                                 @Value("${messages.archive.enabled:true}") boolean enabled) {
+        this.issueRepository = issueRepository;
+        this.issueMessageRepository = issueMessageRepository;
+        this.archiveRepository = archiveRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.solvedFor = Duration.ofDays(solvedDays);
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${messages.archive.cron:0 45 3 * * *}", zone = "UTC")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveSolvedConversations();
+        } catch (Exception e) {
+            log.error("Message archival run failed", e);
+        }
+    }
+
+    public MessageArchiveReport archiveSolvedConversations() {
+        long hotBefore = issueMessageRepository.hotTableBytes();
+        Instant cutoff = Instant.now().minus(solvedFor);
+
+        MessageArchiveReport report = MessageArchiveReport.builder().hotTableBytesBefore(hotBefore).build();
+        // An issue that keeps receiving messages would otherwise come back on every page
+        Set<UUID> processed = new HashSet<>();
+        List<Issue> batch;
+        do {
+            // Archived issues drop out of the query, so the first page is always the next batch
+            batch = issueRepository.findArchivable(IssueStatus.SOLVED, cutoff, PageRequest.of(0, batchSize));
+            int processedBefore = processed.size();
+            for (Issue issue : batch) {
+                if (!processed.add(issue.getId())) {
+                    continue;
+                }
+                ArchiveResult result = transactionTemplate.execute(status -> archiveIssue(issue));
+                eventPublisher.publishEvent(new IssueMessagesArchivedEvent(issue.getId()));
+                report.setIssuesArchived(report.getIssuesArchived() + 1);
+                report.setMessagesArchived(report.getMessagesArchived() + result.messagesMoved());
+                report.setRawBytes(report.getRawBytes() + result.rawBytesAdded());
+                report.setCompressedBytes(report.getCompressedBytes() + result.compressedBytesAdded());
+            }
+            if (processed.size() == processedBefore) {
+                break;
+            }
+        } while (batch.size() == batchSize);
+
+        report.setHotTableBytesAfter(issueMessageRepository.hotTableBytes());
+        if (report.getIssuesArchived() > 0) {
+            // DELETE leaves dead tuples: the on-disk size only drops once vacuum has run
+            log.info("Archived {} issues / {} messages: {} KB of JSON stored as {} KB; hot table on disk {} KB -> {} KB "
+                            + "(space from deleted rows is reclaimed after vacuum)",
+                    report.getIssuesArchived(), report.getMessagesArchived(),
+                    report.getRawBytes() / 1024, report.getCompressedBytes() / 1024,
+                    report.getHotTableBytesBefore() / 1024, report.getHotTableBytesAfter() / 1024);
+        }
+        return report;
+    }
+
+    /**
+     * Archived messages of the issue in creation order, or empty when it has not been archived.
+     */
+    public Optional<List<IssueMessage>> findArchivedMessages(UUID issueId) {
+        return archiveRepository.findById(issueId).map(this::decode);
+    }
+
+    /**
+     * Archived messages of several issues in one query; issues without an archive are absent.
+     */
+    public Map<UUID, List<IssueMessage>> findArchivedMessages(Collection<UUID> issueIds) {
+        Map<UUID, List<IssueMessage>> result = new HashMap<>();
+        for (IssueMessageArchive archive : archiveRepository.findAllById(issueIds)) {
+            result.put(archive.getIssueId(), decode(archive));
+        }
+        return result;
+    }
+
+    // ===== HELPERS =====
+    ArchiveResult archiveIssue(Issue issue) {
+        UUID issueId = issue.getId();
+        Instant since = IssueMessageRepository.earliestMessageTime(issue.getCreatedAt());
+        List<IssueMessage> hot = issueMessageRepository
+                .findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(issueId, since);
+        IssueMessageService.initializeAttachments(hot);
+
+        Optional<IssueMessageArchive> existing = archiveRepository.findById(issueId);
+        long previousRawBytes = existing.map(IssueMessageArchive::getRawBytes).orElse(0L);
+        long previousCompressedBytes = existing.map(a -> (long) a.getPayload().length).orElse(0L);
+
+        List<ArchivedMessage> messages = new ArrayList<>(existing.map(this::readPayload).orElse(List.of()));
+        hot.stream().map(ArchivedMessage::from).forEach(messages::add);
+        messages.sort(Comparator.comparing(ArchivedMessage::createdAt));
+
+        byte[] json = encode(messages);
+        IssueMessageArchive archive = existing.orElseGet(() -> IssueMessageArchive.builder().issueId(issueId).build());
+        archive.setMessageCount(messages.size());
+        archive.setFirstMessageAt(messages.isEmpty() ? null : messages.get(0).createdAt());
+        archive.setLastMessageAt(messages.isEmpty() ? null : messages.get(messages.size() - 1).createdAt());
+        archive.setRawBytes(json.length);
+        archive.setPayload(gzip(json));
+        archive.setArchivedAt(Instant.now());
+        archiveRepository.save(archive);
+
+        // Only the rows just serialized; a message committed after the read is archived next run
+        List<UUID> ids = hot.stream().map(IssueMessage::getId).toList();
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size()));
+            issueMessageRepository.deleteAttachmentsByMessageIds(chunk);
+            issueMessageRepository.deleteArchived(issueId, since, chunk);
+        }
+        log.debug("Archived {} messages of issueId: {} ({} in archive)", hot.size(), issueId, messages.size());
+        return new ArchiveResult(archive, hot.size(),
+                archive.getRawBytes() - previousRawBytes, archive.getPayload().length - previousCompressedBytes);
+    }
+
+    private byte[] encode(List<ArchivedMessage> messages) {
+        try {
+            return objectMapper.writeValueAsBytes(messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<IssueMessage> decode(IssueMessageArchive archive) {
+        List<ArchivedMessage> messages = readPayload(archive);
+        List<IssueMessage> result = new ArrayList<>(messages.size());
+        for (ArchivedMessage message : messages) {
+            result.add(message.toMessage(archive.getIssueId()));
+        }
+        return result;
+    }
+
+    private List<ArchivedMessage> readPayload(IssueMessageArchive archive) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(archive.getPayload()))) {
+            return objectMapper.readValue(in, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt message archive for issue " + archive.getIssueId(), e);
+        }
+    }
+
+    static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // The archive row after this run, and what the run added to it
+    record ArchiveResult(IssueMessageArchive archive, int messagesMoved, long rawBytesAdded, long compressedBytesAdded) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps monthly partitions of dopaminelite_issue_messages created ahead of time, so new
+ * messages never land in the default partition. The SQL function is idempotent, so several
+ * instances running it at once is harmless.
+ *
+ * <p>Rows that do reach the default partition are moved out when their month is created; any
+ * left there (months before the oldest partition) are reported by the
+ * {@code messages.partitions.default.rows} gauge.
+ */
+@Component
+@Slf4j
+public class MessagePartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public MessagePartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${messages.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        Gauge.builder("messages.partitions.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Messages in the default partition, outside every monthly partition")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${messages.partitions.cron:0 15 3 * * *}", zone = "UTC")
+    public void ensurePartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT public.ensure_issue_message_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("Created {} message partition(s)", created);
+            }
+        } catch (Exception e) {
+            log.error("Failed to create message partitions", e);
+        }
+        checkDefaultPartition();
+    }
+
+    // ===== HELPERS =====
+    private void checkDefaultPartition() {
+        try {
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM public.dopaminelite_issue_messages_default", Long.class);
+            defaultPartitionRows.set(rows != null ? rows : 0);
+            if (rows != null && rows > 0) {
+                log.warn("{} message(s) are in the default partition; create partitions for their months", rows);
+            }
+        } catch (Exception e) {
+            log.error("Failed to count rows in the default message partition", e);
+        }
+    }
+}
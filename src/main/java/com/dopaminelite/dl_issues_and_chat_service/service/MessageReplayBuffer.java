@@ -0,0 +1,291 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEnvelope;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEventPayload;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recent message broadcasts per issue, so a reconnecting subscriber can be sent what it
+ * missed without re-reading the conversation.
+ *
+ * <p>The ring only holds broadcasts made by this node, so it answers a replay on its own only
+ * when the subscriber's last-seen message is still in it. Otherwise the database is the source
+ * of truth: {@link #prepare} reads the gap without any lock held, and {@link #missedSince},
+ * run under the issue's striped lock, adds whatever this node broadcast after that read.
+ * Broadcasts and replays of the same issue are serialized by that lock, so a replay sees every
+ * local broadcast that reached the broker before the subscription was registered.
+ */
+@Service
+@Slf4j
+public class MessageReplayBuffer {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final IssueMessageRepository issueMessageRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int capacity;
+    private final int maxReplay;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    private final Map<UUID, Ring> rings;
+
+    public MessageReplayBuffer(IssueMessageRepository issueMessageRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${chat.replay.buffer-size:50}") int capacity,
+                               @Value("${chat.replay.max-issues:2000}") int maxIssues,
+                               @Value("${chat.replay.max-messages:200}") int maxReplay) {
+        this.issueMessageRepository = issueMessageRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.capacity = Math.max(1, capacity);
+        this.maxReplay = Math.max(1, maxReplay);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.rings = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Ring> eldest) {
+                return size() > maxIssues;
+            }
+        });
+    }
+
+    public Lock lockFor(UUID issueId) {
+        return locks[Math.floorMod(issueId.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Records the broadcast and runs {@code send} under the issue's lock, so it cannot
+     * interleave with a replay to a new subscriber.
+     */
+    public void publish(UUID issueId, WebSocketMessageEventPayload message, WebSocketMessageEnvelope envelope, Runnable send) {
+        Lock lock = lockFor(issueId);
+        lock.lock();
+        try {
+            rings.computeIfAbsent(issueId, id -> new Ring(capacity))
+                    .add(new Entry(message.getId(), message.getCreatedAt(), envelope));
+            send.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the database part of a replay after the given last-seen message id or, failing
+     * that, timestamp. Call without holding {@link #lockFor}; the database is skipped only when
+     * the last-seen id is still in this node's ring.
+     */
+    public Pending prepare(UUID issueId, UUID lastSeenId, Instant lastSeenAt) {
+        if (lastSeenId != null) {
+            if (ringContains(issueId, lastSeenId)) {
+                return new Pending(issueId, lastSeenId, null, null);
+            }
+            Optional<Instant> seenAt = issueMessageRepository.findCreatedAtByIdAndIssueId(lastSeenId, issueId);
+            if (seenAt.isEmpty()) {
+                log.debug("Unknown last-seen message {} for issueId: {}; nothing to replay", lastSeenId, issueId);
+                return new Pending(issueId, lastSeenId, null, List.of());
+            }
+            lastSeenAt = seenAt.get();
+        }
+        if (lastSeenAt == null) {
+            return new Pending(issueId, null, null, List.of());
+        }
+        return new Pending(issueId, lastSeenId, lastSeenAt, fromDatabase(issueId, lastSeenAt, lastSeenId));
+    }
+
+    /**
+     * Missed messages, oldest first and at most {@code chat.replay.max-messages}: the ring tail
+     * when it still holds the last-seen id, otherwise the prepared database rows plus any later
+     * local broadcasts. The caller must hold {@link #lockFor}.
+     */
+    public Replay missedSince(Pending pending) {
+        Ring ring = rings.get(pending.issueId);
+        if (pending.lastSeenId != null && ring != null) {
+            Optional<List<Entry>> fromRing = ring.after(pending.lastSeenId);
+            if (fromRing.isPresent()) {
+                return limit(fromRing.get());
+            }
+        }
+        if (pending.stored == null) {
+            // The last-seen message left the ring after prepare; let the client re-fetch
+            return new Replay(List.of(), true);
+        }
+        if (pending.lastSeenAt == null || ring == null) {
+            return limit(pending.stored);
+        }
+
+        Set<UUID> storedIds = new HashSet<>();
+        for (Entry entry : pending.stored) {
+            storedIds.add(entry.messageId());
+        }
+        List<Entry> merged = new ArrayList<>(pending.stored);
+        for (Entry entry : ring.after(pending.lastSeenAt, pending.lastSeenId)) {
+            if (!storedIds.contains(entry.messageId())) {
+                merged.add(entry);
+            }
+        }
+        if (merged.size() > pending.stored.size()) {
+            merged.sort(Comparator.comparing(Entry::createdAt, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return limit(merged);
+    }
+
+    // ===== HELPERS =====
+    private boolean ringContains(UUID issueId, UUID messageId) {
+        Lock lock = lockFor(issueId);
+        lock.lock();
+        try {
+            Ring ring = rings.get(issueId);
+            return ring != null && ring.contains(messageId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Entry> fromDatabase(UUID issueId, Instant since, UUID lastSeenId) {
+        List<Entry> entries = readOnlyTransaction.execute(status -> {
+            // One extra row covers the last-seen message itself, which the range includes
+            List<IssueMessage> messages = issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                    issueId, since, PageRequest.of(0, maxReplay + 2));
+            IssueMessageService.initializeAttachments(messages);
+            List<Entry> result = new ArrayList<>(messages.size());
+            for (IssueMessage message : messages) {
+                boolean seen = lastSeenId != null ? lastSeenId.equals(message.getId()) : !message.getCreatedAt().isAfter(since);
+                if (!seen) {
+                    result.add(new Entry(message.getId(), message.getCreatedAt(), envelope(message)));
+                }
+            }
+            return result;
+        });
+        log.debug("Read {} missed messages for issueId: {} from the database", entries.size(), issueId);
+        return entries;
+    }
+
+    private Replay limit(List<Entry> entries) {
+        boolean truncated = entries.size() > maxReplay;
+        List<WebSocketMessageEnvelope> envelopes = new ArrayList<>(Math.min(entries.size(), maxReplay));
+        for (Entry entry : truncated ? entries.subList(0, maxReplay) : entries) {
+            envelopes.add(entry.envelope());
+        }
+        return new Replay(envelopes, truncated);
+    }
+
+    static WebSocketMessageEnvelope envelope(IssueMessage message) {
+        return WebSocketMessageEnvelope.builder()
+                .type("MESSAGE")
+                .issueId(message.getIssueId())
+                .payload(new WebSocketMessageEventPayload(message))
+                .build();
+    }
+
+    /**
+     * @param truncated more messages were missed than are replayed; the client should
+     *                  re-fetch the conversation over REST
+     */
+    public record Replay(List<WebSocketMessageEnvelope> envelopes, boolean truncated) {
+    }
+
+    /**
+     * A replay request with its database part already read; {@code stored} is null when the
+     * ring held the last-seen id at prepare time.
+     */
+    public static final class Pending {
+        private final UUID issueId;
+        private final UUID lastSeenId;
+        private final Instant lastSeenAt;
+        private final List<Entry> stored;
+
+        private Pending(UUID issueId, UUID lastSeenId, Instant lastSeenAt, List<Entry> stored) {
+            this.issueId = issueId;
+            this.lastSeenId = lastSeenId;
+            this.lastSeenAt = lastSeenAt;
+            this.stored = stored;
+        }
+
+        public UUID issueId() {
+            return issueId;
+        }
+    }
+
+    private record Entry(UUID messageId, Instant createdAt, WebSocketMessageEnvelope envelope) {
+    }
+
+    // Accessed only under the issue's lock
+    private static final class Ring {
+        private final ArrayDeque<Entry> entries;
+        private final int capacity;
+
+        Ring(int capacity) {
+            this.entries = new ArrayDeque<>(capacity);
+            this.capacity = capacity;
+        }
+
+        void add(Entry entry) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+
+        boolean contains(UUID messageId) {
+            for (Entry entry : entries) {
+                if (messageId.equals(entry.messageId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Optional<List<Entry>> after(UUID messageId) {
+            List<Entry> result = new ArrayList<>();
+            Iterator<Entry> it = entries.descendingIterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (messageId.equals(entry.messageId())) {
+                    Collections.reverse(result);
+                    return Optional.of(result);
+                }
+                result.add(entry);
+            }
+            return Optional.empty();
+        }
+
+        List<Entry> after(Instant since, UUID excludeId) {
+            List<Entry> result = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.createdAt() == null) {
+                    continue;
+                }
+                boolean seen = excludeId != null
+                        ? excludeId.equals(entry.messageId()) || entry.createdAt().isBefore(since)
+                        : !entry.createdAt().isAfter(since);
+                if (!seen) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains WebSocket sessions on shutdown instead of dropping them all at once.
+ *
+ * <p>Runs on {@link ContextClosedEvent}, which Spring publishes (on SIGTERM, via the shutdown
+ * hook) before any lifecycle bean stops, so the broker and its executors are still running.
+ * The node reports not-ready and refuses new handshakes, waits for in-flight sends and
+ * queued broadcasts, then closes sessions in waves with status 1012 (service restart) and a
+ * per-session jittered {@code reconnect-after-ms=N} reason, so clients do not all reconnect
+ * at the same moment.
+ */
+@Service
+@Slf4j
+public class WebSocketDrainCoordinator {
+
+    private static final long POLL_MILLIS = 50;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationAvailability availability;
+    private final ObjectProvider<ThreadPoolTaskExecutor> inboundExecutor;
+    private final ObjectProvider<ThreadPoolTaskExecutor> outboundExecutor;
+    private final int waves;
+    private final Duration waveInterval;
+    private final long reconnectMinMs;
+    private final long reconnectMaxMs;
+    private final Duration flushTimeout;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean draining;
+
+    public WebSocketDrainCoordinator(ApplicationEventPublisher eventPublisher,
+                                     ApplicationAvailability availability,
+                                     @Qualifier("clientInboundChannelExecutor") ObjectProvider<ThreadPoolTaskExecutor> inboundExecutor,
+                                     @Qualifier("clientOutboundChannelExecutor") ObjectProvider<ThreadPoolTaskExecutor> outboundExecutor,
+                                     @Value("${chat.drain.waves:5}") int waves,
+                                     @Value("${chat.drain.wave-interval-ms:2000}") long waveIntervalMs,
+                                     @Value("${chat.drain.reconnect-min-ms:500}") long reconnectMinMs,
+                                     @Value("${chat.drain.reconnect-max-ms:10000}") long reconnectMaxMs,
+                                     @Value("${chat.drain.flush-timeout-ms:5000}") long flushTimeoutMs) {
+        this.eventPublisher = eventPublisher;
+        this.availability = availability;
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        this.waves = Math.max(1, waves);
+        this.waveInterval = Duration.ofMillis(waveIntervalMs);
+        this.reconnectMinMs = reconnectMinMs;
+        this.reconnectMaxMs = Math.max(reconnectMinMs, reconnectMaxMs);
+        this.flushTimeout = Duration.ofMillis(flushTimeoutMs);
+    }
+
+    /**
+     * False once draining has started, or while readiness has been switched off
+     * (e.g. through the drain actuator endpoint).
+     */
+    public boolean acceptingSessions() {
+        return !draining && availability.getReadinessState() != ReadinessState.REFUSING_TRAFFIC;
+    }
+
+    public void sessionOpened(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+        // A handshake that raced the start of the drain
+        if (draining) {
+            close(session);
+        }
+    }
+
+    public void sessionClosed(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    public void messageStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void messageFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public int openSessions() {
+        return sessions.size();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        drain();
+    }
+
+    public void drain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("Draining {} WebSocket sessions in {} waves", sessions.size(), waves);
+
+        flush();
+
+        List<WebSocketSession> remaining = new ArrayList<>(sessions.values());
+        Collections.shuffle(remaining);
+        int waveSize = Math.max(1, (remaining.size() + waves - 1) / waves);
+        for (int from = 0; from < remaining.size(); from += waveSize) {
+            if (from > 0 && !pause(waveInterval)) {
+                break;
+            }
+            for (WebSocketSession session : remaining.subList(from, Math.min(from + waveSize, remaining.size()))) {
+                close(session);
+            }
+        }
+
+        // Sends that arrived on sessions closed in the last wave
+        flush();
+        log.info("WebSocket drain finished; {} sessions still open", sessions.size());
+    }
+
+    // ===== HELPERS =====
+    private void flush() {
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        while (!idle()) {
+            if (System.nanoTime() >= deadline) {
+                log.warn("Drain flush timed out with {} sends in flight", inFlight.get());
+                return;
+            }
+            if (!pause(Duration.ofMillis(POLL_MILLIS))) {
+                return;
+            }
+        }
+    }
+
+    private boolean idle() {
+        return inFlight.get() == 0 && idle(inboundExecutor.getIfAvailable()) && idle(outboundExecutor.getIfAvailable());
+    }
+
+    private static boolean idle(ThreadPoolTaskExecutor executor) {
+        return executor == null || (executor.getQueueSize() == 0 && executor.getActiveCount() == 0);
+    }
+
+    private void close(WebSocketSession session) {
+        long reconnectAfter = ThreadLocalRandom.current().nextLong(reconnectMinMs, reconnectMaxMs + 1);
+        try {
+            if (session.isOpen()) {
+                session.close(CloseStatus.SERVICE_RESTARTED.withReason("reconnect-after-ms=" + reconnectAfter));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to close WebSocket session {} during drain: {}", session.getId(), e.getMessage());
+        } finally {
+            sessions.remove(session.getId());
+        }
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks open STOMP sessions and their subscriptions from the broker's session events.
+ * The simple broker only tracks users with a principal, and clients here are anonymous,
+ * so the counts are kept per session id instead.
+ */
+@Service
+@Slf4j
+public class WebSocketSessionTracker {
+
+    // sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> subscribersByDestination = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    public WebSocketSessionTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.websocket.sessions", sessions, Map::size)
+                .description("Open STOMP sessions")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.subscriptions", subscriptions, AtomicInteger::get)
+                .description("Active STOMP subscriptions across all sessions")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.destinations", subscribersByDestination, Map::size)
+                .description("Destinations with at least one subscriber")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = headers.getSessionId();
+        String subscriptionId = headers.getSubscriptionId();
+        String destination = headers.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        Map<String, String> sessionSubscriptions = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        if (sessionSubscriptions.putIfAbsent(subscriptionId, destination) == null) {
+            subscriptions.incrementAndGet();
+            subscribersByDestination.compute(destination, (d, count) -> {
+                AtomicInteger c = count != null ? count : new AtomicInteger();
+                c.incrementAndGet();
+                return c;
+            });
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> sessionSubscriptions = headers.getSessionId() != null ? sessions.get(headers.getSessionId()) : null;
+        if (sessionSubscriptions == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = sessionSubscriptions.remove(headers.getSubscriptionId());
+        if (destination != null) {
+            removeSubscriber(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> sessionSubscriptions = sessions.remove(event.getSessionId());
+        if (sessionSubscriptions == null) {
+            return;
+        }
+        sessionSubscriptions.values().forEach(this::removeSubscriber);
+        log.debug("WebSocket session {} closed with {} subscriptions", event.getSessionId(), sessionSubscriptions.size());
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int subscriptionCount() {
+        return subscriptions.get();
+    }
+
+    public int subscriberCount(String destination) {
+        AtomicInteger count = subscribersByDestination.get(destination);
+        return count != null ? count.get() : 0;
+    }
+
+    private void removeSubscriber(String destination) {
+        subscriptions.decrementAndGet();
+        subscribersByDestination.computeIfPresent(destination, (d, count) -> count.decrementAndGet() > 0 ? count : null);
+    }
+}
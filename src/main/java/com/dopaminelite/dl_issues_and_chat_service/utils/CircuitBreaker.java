@@ -0,0 +1,80 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal consecutive-failure circuit breaker. After {@code failureThreshold} failures in a
+ * row calls are refused for {@code openFor}; then a single trial call is let through, and
+ * its outcome closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openForNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openFor) {
+        this(failureThreshold, openFor, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openFor, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openForNanos = openFor.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call may proceed. Every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < openForNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        // Report an expired open circuit as half-open so health checks do not lag behind
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openForNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,372 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Small in-memory inverted index for type-ahead search.
+ * <p>
+ * Terms live in a sorted map so the last query token can be matched as a prefix;
+ * posting lists are primitive int arrays of document ids in insertion order.
+ * Documents added as evictable are dropped oldest-first once the estimated heap use
+ * exceeds {@code maxBytes}. Removed documents are filtered at query time and purged
+ * from the posting lists once they make up a quarter of the index; the purge also renumbers
+ * the remaining documents, so document ids and every array indexed by them stay dense.
+ */
+@Slf4j
+public final class InvertedIndex<T> {
+
+    /**
+     * @param overBudgetAdds adds that left the index over {@code maxBytes} with nothing
+     *                       evictable left to drop
+     */
+    public record Stats(int documents, int terms, long estimatedBytes, long maxBytes,
+                        long evictedDocuments, long overBudgetAdds, long queries, long totalQueryNanos) {
+    }
+
+    private static final int MAX_TOKEN_LENGTH = 32;
+    // Caps the work of a one-letter prefix such as "a"
+    private static final int MAX_PREFIX_TERMS = 256;
+
+    // Rough JVM sizes used for the memory budget
+    private static final int TERM_OVERHEAD_BYTES = 120;
+    private static final int DOC_OVERHEAD_BYTES = 96;
+    // docs and docKeys references plus the evictable entry; held until the next purge
+    private static final int DOC_SLOT_BYTES = 32;
+
+    private final long maxBytes;
+    private final ToIntFunction<T> docSizeEstimator;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final ArrayList<T> docs = new ArrayList<>();
+    private final Map<Object, Integer> docIdsByKey = new HashMap<>();
+    private final ArrayList<Object> docKeys = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final ArrayDeque<Integer> evictable = new ArrayDeque<>();
+
+    private long estimatedBytes;
+    private int liveDocuments;
+    private int removedSincePurge;
+    private long evictedDocuments;
+    private long overBudgetAdds;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder totalQueryNanos = new LongAdder();
+
+    public InvertedIndex(long maxBytes, ToIntFunction<T> docSizeEstimator) {
+        this.maxBytes = maxBytes;
+        this.docSizeEstimator = docSizeEstimator;
+    }
+
+    /**
+     * Indexes {@code text} for {@code doc}. Returns false when a document with the same
+     * key is already indexed.
+     */
+    public boolean add(Object key, T doc, String text, boolean canEvict) {
+        List<String> tokens = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            if (docIdsByKey.containsKey(key)) {
+                return false;
+            }
+
+            int docId = docs.size();
+            docs.add(doc);
+            docKeys.add(key);
+            docIdsByKey.put(key, docId);
+            live.set(docId);
+            liveDocuments++;
+            estimatedBytes += DOC_SLOT_BYTES + DOC_OVERHEAD_BYTES + docSizeEstimator.applyAsInt(doc);
+
+            Set<String> distinct = new LinkedHashSet<>(tokens);
+            for (String token : distinct) {
+                Postings postings = terms.get(token);
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(token, postings);
+                    estimatedBytes += TERM_OVERHEAD_BYTES + 2L * token.length();
+                }
+                estimatedBytes += postings.add(docId);
+            }
+
+            if (canEvict) {
+                evictable.addLast(docId);
+            }
+            evictOverBudget();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Object key) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.get(key);
+            if (docId != null) {
+                removeDoc(docId);
+                purgeIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching every query token, newest first.
+     * All tokens but the last must match a term exactly; the last one is a prefix.
+     */
+    public List<T> search(String query, int limit) {
+        long start = System.nanoTime();
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                BitSet tokenMatches = new BitSet(docs.size());
+                String token = tokens.get(i);
+                if (i == tokens.size() - 1) {
+                    int seen = 0;
+                    for (Postings postings : terms.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                        postings.addTo(tokenMatches);
+                        if (++seen >= MAX_PREFIX_TERMS) break;
+                    }
+                } else {
+                    Postings postings = terms.get(token);
+                    if (postings != null) {
+                        postings.addTo(tokenMatches);
+                    }
+                }
+
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            matches.and(live);
+            List<T> result = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (int docId = matches.length() - 1; docId >= 0 && result.size() < limit; docId = matches.previousSetBit(docId - 1)) {
+                result.add(docs.get(docId));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+            queries.increment();
+            totalQueryNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(liveDocuments, terms.size(), estimatedBytes, maxBytes,
+                    evictedDocuments, overBudgetAdds, queries.sum(), totalQueryNanos.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Document slots, live or not; search allocates bit sets of this size
+    int docSlots() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased tokens made of letters, digits and combining marks, so Sinhala vowel
+     * signs and ZWJ conjuncts stay inside their word.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            if (isTokenChar(cp)) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                addToken(tokens, lower, start, i);
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            addToken(tokens, lower, start, lower.length());
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String text, int start, int end) {
+        int cappedEnd = Math.min(end, start + MAX_TOKEN_LENGTH);
+        if (cappedEnd < end && Character.isHighSurrogate(text.charAt(cappedEnd - 1))) {
+            cappedEnd--;
+        }
+        tokens.add(text.substring(start, cappedEnd));
+    }
+
+    private static boolean isTokenChar(int cp) {
+        if (Character.isLetterOrDigit(cp) || cp == 0x200C || cp == 0x200D) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    // ===== INTERNALS (write lock held) =====
+    private void evictOverBudget() {
+        if (estimatedBytes <= maxBytes) {
+            return;
+        }
+        // Evict down to 90% of the budget so the purge below runs once per burst, not per add
+        long target = maxBytes - maxBytes / 10;
+        int removed = 0;
+        while (estimatedBytes > target && !evictable.isEmpty()) {
+            int docId = evictable.pollFirst();
+            if (live.get(docId)) {
+                removeDoc(docId);
+                evictedDocuments++;
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            purge();
+        }
+        if (estimatedBytes > maxBytes) {
+            // Only non-evictable documents are left; purging again would free nothing
+            if (overBudgetAdds++ == 0) {
+                log.warn("Index holds ~{} KB of non-evictable documents, over its {} KB budget",
+                        estimatedBytes / 1024, maxBytes / 1024);
+            }
+        }
+    }
+
+    private void removeDoc(int docId) {
+        if (!live.get(docId)) {
+            return;
+        }
+        T doc = docs.get(docId);
+        live.clear(docId);
+        liveDocuments--;
+        removedSincePurge++;
+        estimatedBytes -= DOC_OVERHEAD_BYTES + docSizeEstimator.applyAsInt(doc);
+        docs.set(docId, null);
+        docIdsByKey.remove(docKeys.get(docId));
+        docKeys.set(docId, null);
+    }
+
+    private void purgeIfNeeded() {
+        if (removedSincePurge > 0 && removedSincePurge >= (liveDocuments + removedSincePurge) / 4) {
+            purge();
+        }
+    }
+
+    private void purge() {
+        // Renumber live documents 0..n-1, keeping insertion order (search relies on it)
+        int[] newIds = new int[docs.size()];
+        int next = 0;
+        for (int docId = 0; docId < docs.size(); docId++) {
+            if (!live.get(docId)) {
+                newIds[docId] = -1;
+                continue;
+            }
+            newIds[docId] = next;
+            Object key = docKeys.get(docId);
+            docs.set(next, docs.get(docId));
+            docKeys.set(next, key);
+            docIdsByKey.put(key, next);
+            next++;
+        }
+        estimatedBytes -= (long) DOC_SLOT_BYTES * (docs.size() - next);
+        docs.subList(next, docs.size()).clear();
+        docs.trimToSize();
+        docKeys.subList(next, docKeys.size()).clear();
+        docKeys.trimToSize();
+        live.clear();
+        live.set(0, next);
+
+        int evictableCount = evictable.size();
+        for (int i = 0; i < evictableCount; i++) {
+            int newId = newIds[evictable.pollFirst()];
+            if (newId >= 0) {
+                evictable.addLast(newId);
+            }
+        }
+
+        Iterator<Map.Entry<String, Postings>> it = terms.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Postings> entry = it.next();
+            estimatedBytes -= entry.getValue().remap(newIds);
+            if (entry.getValue().size == 0) {
+                estimatedBytes -= TERM_OVERHEAD_BYTES + 2L * entry.getKey().length();
+                it.remove();
+            }
+        }
+        removedSincePurge = 0;
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        // Returns the number of bytes the posting list grew by
+        private long add(int docId) {
+            long grown = 0;
+            if (size == ids.length) {
+                int[] bigger = Arrays.copyOf(ids, ids.length * 2);
+                grown = 4L * (bigger.length - ids.length);
+                ids = bigger;
+            }
+            ids[size++] = docId;
+            return grown;
+        }
+
+        private void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(ids[i]);
+            }
+        }
+
+        // Maps ids through newIds (-1 = removed), shrinks the array and returns the bytes freed
+        private long remap(int[] newIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newId = newIds[ids[i]];
+                if (newId >= 0) {
+                    ids[kept++] = newId;
+                }
+            }
+            size = kept;
+            int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, kept - 1)) << 1);
+            if (capacity >= ids.length) {
+                return 0;
+            }
+            long freed = 4L * (ids.length - capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            return freed;
+        }
+    }
+}
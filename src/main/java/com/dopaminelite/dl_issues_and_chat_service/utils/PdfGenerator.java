@@ -5,6 +5,8 @@ import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
@@ -12,9 +14,12 @@ import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.properties.HorizontalAlignment;
+import com.itextpdf.layout.properties.Leading;
+import com.itextpdf.layout.properties.Property;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.kernel.events.Event;
@@ -22,11 +27,18 @@ import com.itextpdf.kernel.events.IEventHandler;
 import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -48,18 +60,58 @@ public class PdfGenerator {
             DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss")
                     .withZone(COLOMBO_ZONE);
 
-    private static final DateTimeFormatter MESSAGE_TIME_FORMAT =
-            DateTimeFormatter.ofPattern("HH:mm")
-                    .withZone(COLOMBO_ZONE);
-
     private static final DateTimeFormatter DATE_HEADER_FORMAT =
             DateTimeFormatter.ofPattern("dd MMMM yyyy")
                     .withZone(COLOMBO_ZONE);
 
+    // Static utility, so meters go to the global registry, which Spring Boot also exports
+    private static final Timer RENDER_TIMER = Timer.builder("issues.report.render")
+            .description("Time to render one issue report PDF")
+            .register(Metrics.globalRegistry);
+
+    private static final DistributionSummary RENDER_MESSAGES = DistributionSummary.builder("issues.report.messages")
+            .description("Messages per rendered issue report")
+            .register(Metrics.globalRegistry);
+
     public static byte[] generateIssueReport(
             Issue issue,
             List<IssueMessage> messages,
             Map<UUID, UserInfo> userMap
+    ) {
+        return generateIssueReport(issue, messages, userMap, Tracer.NOOP);
+    }
+
+    /**
+     * Renders the report in a {@code report.pdf.render} span, a child of the current span, with
+     * one child span per stage: details, conversation layout and writing the document.
+     */
+    public static byte[] generateIssueReport(
+            Issue issue,
+            List<IssueMessage> messages,
+            Map<UUID, UserInfo> userMap,
+            Tracer tracer
+    ) {
+        RENDER_MESSAGES.record(messages.size());
+        Span span = tracer.nextSpan()
+                .name("report.pdf.render")
+                .tag("issue.number", String.valueOf(issue.getIssueNumber()))
+                .tag("report.messages", String.valueOf(messages.size()))
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return RENDER_TIMER.record(() -> render(issue, messages, userMap, tracer));
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static byte[] render(
+            Issue issue,
+            List<IssueMessage> messages,
+            Map<UUID, UserInfo> userMap,
+            Tracer tracer
     ) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             PdfWriter writer = new PdfWriter(baos);
@@ -67,149 +119,173 @@ public class PdfGenerator {
             Document doc = new Document(pdf, PageSize.A4);
             doc.setMargins(MARGIN, MARGIN, MARGIN, MARGIN);
 
-            // Load fonts (EMBEDDED, UNICODE)
-            PdfFont latinRegular = loadFont("fonts/NotoSans-Regular.ttf");
-            PdfFont latinBold = loadFont("fonts/NotoSans-Bold.ttf");
-            PdfFont sinhalaRegular = loadFont("fonts/NotoSansSinhala-Regular.ttf");
+            // Load fonts (EMBEDDED, UNICODE) from the shared, parsed font programs
+            PdfFont latinRegular = createFont(FontPrograms.LATIN_REGULAR);
+            PdfFont latinBold = createFont(FontPrograms.LATIN_BOLD);
+            PdfFont sinhalaRegular = createFont(FontPrograms.SINHALA_REGULAR);
+            ReportStyles styles = new ReportStyles(latinRegular, latinBold);
 
             // Register footer event handler
             pdf.addEventHandler(PdfDocumentEvent.END_PAGE, new FooterHandler(latinRegular));
 
-            // Header
-            doc.add(new Paragraph("DopamineLite")
-                    .setFont(latinBold)
-                    .setFontSize(HEADER_FOOTER_FONT_SIZE)
-                    .setTextAlignment(TextAlignment.CENTER));
+            stage(tracer, "report.pdf.details", () -> {
+                // Header
+                doc.add(new Paragraph("DopamineLite").addStyle(styles.header));
+
+                // Title
+                doc.add(new Paragraph("Issue Report - Issue No. : " + issue.getIssueNumber())
+                        .addStyle(styles.title));
+
+                // Details
+                doc.add(new Paragraph("Issue ID: " + issue.getId()).addStyle(styles.detail));
+                doc.add(mixed("Title: " + safe(issue.getTitle()), latinRegular, sinhalaRegular, styles.detail));
+                doc.add(mixed("Description: " + safe(issue.getDescription()), latinRegular, sinhalaRegular, styles.detail));
+                doc.add(new Paragraph("Status: " + issue.getStatus()).addStyle(styles.detail));
+
+                // Assigned admin
+                String assignedAdminName = "Not Assigned";
+                if (issue.getAssignedAdminId() != null) {
+                    UserInfo adminInfo = userMap.get(issue.getAssignedAdminId());
+                    if (adminInfo != null && adminInfo.getFullName() != null) {
+                        assignedAdminName = adminInfo.getFullName();
+                    }
+                }
 
-            // Title
-            doc.add(new Paragraph("Issue Report - Issue No. : " + issue.getIssueNumber())
-                    .setFont(latinBold)
-                    .setFontSize(TITLE_FONT_SIZE)
-                    .setMultipliedLeading(0.5f));  // reduced line spacing
+                doc.add(mixed("Assigned Admin: " + assignedAdminName, latinRegular, sinhalaRegular, styles.detail));
 
-// Details
-            doc.add(new Paragraph("Issue ID: " + issue.getId())
-                    .setFont(latinRegular)
-                    .setFontSize(DETAILS_FONT_SIZE)
-                    .setMultipliedLeading(0.5f));
+                doc.add(new Paragraph("Created At: " + READABLE_DATE_FORMAT.format(issue.getCreatedAt()))
+                        .addStyle(styles.detail));
 
-            doc.add(mixed(
-                    "Title: " + safe(issue.getTitle()),
-                    latinRegular, sinhalaRegular,
-                    DETAILS_FONT_SIZE, TextAlignment.LEFT
-            ).setMultipliedLeading(0.5f));
+                doc.add(new Paragraph("Solved At: " +
+                        (issue.getSolvedAt() != null
+                                ? READABLE_DATE_FORMAT.format(issue.getSolvedAt())
+                                : "N/A"))
+                        .addStyle(styles.detail));
+            });
 
-            doc.add(mixed(
-                    "Description: " + safe(issue.getDescription()),
-                    latinRegular, sinhalaRegular,
-                    DETAILS_FONT_SIZE, TextAlignment.LEFT
-            ).setMultipliedLeading(0.5f));
+            stage(tracer, "report.pdf.conversation", () -> {
+                // Conversation
+                doc.add(new Paragraph("Conversation:").addStyle(styles.sectionHeading));
 
-            doc.add(new Paragraph("Status: " + issue.getStatus())
-                    .setFont(latinRegular)
-                    .setFontSize(DETAILS_FONT_SIZE)
-                    .setMultipliedLeading(0.5f));
-
-// Assigned admin
-            String assignedAdminName = "Not Assigned";
-            if (issue.getAssignedAdminId() != null) {
-                UserInfo adminInfo = userMap.get(issue.getAssignedAdminId());
-                if (adminInfo != null && adminInfo.getFullName() != null) {
-                    assignedAdminName = adminInfo.getFullName();
+                // Group messages by local date; the converted local time is reused for the meta line
+                Map<LocalDate, List<LocalMessage>> grouped = new LinkedHashMap<>();
+                for (IssueMessage m : messages) {
+                    LocalDateTime local = LocalDateTime.ofInstant(m.getCreatedAt(), COLOMBO_ZONE);
+                    grouped.computeIfAbsent(local.toLocalDate(), k -> new ArrayList<>())
+                            .add(new LocalMessage(m, local));
                 }
-            }
 
-            doc.add(mixed(
-                    "Assigned Admin: " + assignedAdminName,
-                    latinRegular, sinhalaRegular,
-                    DETAILS_FONT_SIZE, TextAlignment.LEFT
-            ).setMultipliedLeading(0.5f));
+                StringBuilder meta = new StringBuilder(64);
+                for (var entry : grouped.entrySet()) {
+                    doc.add(new Paragraph(DATE_HEADER_FORMAT.format(entry.getKey())).addStyle(styles.dateHeader));
+
+                    for (LocalMessage lm : entry.getValue()) {
+                        IssueMessage m = lm.message();
+
+                        // Determine alignment based on role
+                        boolean isAdminSide = (m.getSenderRole() == Role.ADMIN || m.getSenderRole() == Role.MAIN_ADMIN);
+
+                        // "<name> | HH:mm | [<role>]"
+                        meta.setLength(0);
+                        meta.append(getUserName(m.getSenderId(), userMap)).append(" | ");
+                        appendTwoDigits(meta, lm.localTime().getHour()).append(':');
+                        appendTwoDigits(meta, lm.localTime().getMinute());
+                        meta.append(" | [").append(formatRoleLabel(m.getSenderRole())).append(']');
+
+                        doc.add(mixed(
+                                meta.toString(),
+                                latinRegular, sinhalaRegular,
+                                isAdminSide ? styles.adminMeta : styles.studentMeta
+                        ));
+
+                        doc.add(mixed(
+                                safe(m.getContent()),
+                                latinRegular, sinhalaRegular,
+                                isAdminSide ? styles.adminBody : styles.studentBody
+                        ));
+                    }
+                }
+            });
 
-            doc.add(new Paragraph("Created At: " +
-                    READABLE_DATE_FORMAT.format(issue.getCreatedAt()))
-                    .setFont(latinRegular)
-                    .setFontSize(DETAILS_FONT_SIZE)
-                    .setMultipliedLeading(0.5f));
+            // Lays out the remaining content, subsets the fonts and writes the document
+            stage(tracer, "report.pdf.write", doc::close);
+            return baos.toByteArray();
 
-            doc.add(new Paragraph("Solved At: " +
-                    (issue.getSolvedAt() != null
-                            ? READABLE_DATE_FORMAT.format(issue.getSolvedAt())
-                            : "N/A"))
-                    .setFont(latinRegular)
-                    .setFontSize(DETAILS_FONT_SIZE)
-                    .setMultipliedLeading(0.5f));
+        } catch (Exception e) {
+            throw new RuntimeException("PDF generation failed", e);
+        }
+    }
 
-            // Conversation
-            doc.add(new Paragraph("Conversation:")
-                    .setFont(latinBold)
-                    .setFontSize(DETAILS_FONT_SIZE));
-
-            // Group messages by date
-            Map<LocalDate, List<IssueMessage>> grouped = new LinkedHashMap<>();
-            for (IssueMessage m : messages) {
-                LocalDate d = m.getCreatedAt()
-                        .atZone(COLOMBO_ZONE)
-                        .toLocalDate();
-                grouped.computeIfAbsent(d, k -> new ArrayList<>()).add(m);
-            }
+    private static void stage(Tracer tracer, String name, Runnable work) {
+        Span span = tracer.nextSpan().name(name).start();
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
 
-            for (var entry : grouped.entrySet()) {
-                doc.add(new Paragraph(DATE_HEADER_FORMAT.format(entry.getKey()))
-                        .setFont(latinRegular)
-                        .setFontSize(DATE_HEADER_FONT_SIZE)
-                        .setTextAlignment(TextAlignment.CENTER));
-
-                for (IssueMessage m : entry.getValue()) {
-                    String meta = String.format(
-                            "%s | %s | [%s]",
-                            getUserName(m.getSenderId(), userMap),
-                            MESSAGE_TIME_FORMAT.format(m.getCreatedAt()),
-                            formatRoleLabel(m.getSenderRole())
-                    );
-
-                    // Determine alignment based on role
-                    boolean isAdminSide = (m.getSenderRole() == Role.ADMIN || m.getSenderRole() == Role.MAIN_ADMIN);
-                    TextAlignment alignment = isAdminSide ? TextAlignment.RIGHT : TextAlignment.LEFT;
-                    HorizontalAlignment hAlign = isAdminSide ? HorizontalAlignment.RIGHT : HorizontalAlignment.LEFT;
-
-                    // Meta line with constrained width
-                    Paragraph metaPara = mixed(
-                            meta,
-                            latinRegular, sinhalaRegular,
-                            MESSAGE_META_FONT_SIZE, alignment
-                    );
-                    metaPara.setWidth(UnitValue.createPercentValue(85));
-                    metaPara.setHorizontalAlignment(hAlign);
-                    // Disable line splitting/wrapping (best-effort)
-                    metaPara.setKeepTogether(true);
-                    doc.add(metaPara);
-
-                    // Body with constrained width
-                    String body = safe(m.getContent());
-                    Paragraph bodyPara = mixed(
-                            body,
-                            latinRegular, sinhalaRegular,
-                            MESSAGE_BODY_FONT_SIZE, alignment
-                    );
-                    bodyPara.setWidth(UnitValue.createPercentValue(85));
-                    bodyPara.setHorizontalAlignment(hAlign);
-                    // Disable line splitting/wrapping (best-effort)
-                    bodyPara.setKeepTogether(true);
-                    doc.add(bodyPara);
-                }
-            }
+    private record LocalMessage(IssueMessage message, LocalDateTime localTime) {
+    }
 
-            // Remove manual footer paragraph
-            // doc.add(new Paragraph("Page " + pdf.getNumberOfPages())
-            //         .setFont(latinRegular)
-            //         .setFontSize(HEADER_FOOTER_FONT_SIZE)
-            //         .setTextAlignment(TextAlignment.CENTER));
+    // ===== STYLES =====
+    // Built once per document (fonts are document-bound) and shared by every paragraph,
+    // instead of setting the same properties on each element.
+    private static final class ReportStyles {
+        private final Style header;
+        private final Style title;
+        private final Style detail;
+        private final Style sectionHeading;
+        private final Style dateHeader;
+        private final Style studentMeta;
+        private final Style adminMeta;
+        private final Style studentBody;
+        private final Style adminBody;
+
+        private ReportStyles(PdfFont latinRegular, PdfFont latinBold) {
+            header = new Style()
+                    .setFont(latinBold)
+                    .setFontSize(HEADER_FOOTER_FONT_SIZE)
+                    .setTextAlignment(TextAlignment.CENTER);
+            title = leading(new Style()
+                    .setFont(latinBold)
+                    .setFontSize(TITLE_FONT_SIZE), 0.5f);  // reduced line spacing
+            detail = leading(new Style()
+                    .setFont(latinRegular)
+                    .setFontSize(DETAILS_FONT_SIZE)
+                    .setTextAlignment(TextAlignment.LEFT), 0.5f);
+            sectionHeading = new Style()
+                    .setFont(latinBold)
+                    .setFontSize(DETAILS_FONT_SIZE);
+            dateHeader = new Style()
+                    .setFont(latinRegular)
+                    .setFontSize(DATE_HEADER_FONT_SIZE)
+                    .setTextAlignment(TextAlignment.CENTER);
+            studentMeta = message(latinRegular, MESSAGE_META_FONT_SIZE, false);
+            adminMeta = message(latinRegular, MESSAGE_META_FONT_SIZE, true);
+            studentBody = message(latinRegular, MESSAGE_BODY_FONT_SIZE, false);
+            adminBody = message(latinRegular, MESSAGE_BODY_FONT_SIZE, true);
+        }
 
-            doc.close();
-            return baos.toByteArray();
+        private static Style message(PdfFont font, float size, boolean adminSide) {
+            Style style = leading(new Style()
+                    .setFont(font)
+                    .setFontSize(size)
+                    .setTextAlignment(adminSide ? TextAlignment.RIGHT : TextAlignment.LEFT), 0.75f);
+            // Constrained width, aligned to the sender's side
+            style.setProperty(Property.WIDTH, UnitValue.createPercentValue(85));
+            style.setProperty(Property.HORIZONTAL_ALIGNMENT, adminSide ? HorizontalAlignment.RIGHT : HorizontalAlignment.LEFT);
+            // Disable line splitting/wrapping (best-effort)
+            style.setProperty(Property.KEEP_TOGETHER, true);
+            return style;
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("PDF generation failed", e);
+        private static Style leading(Style style, float multiplier) {
+            style.setProperty(Property.LEADING, new Leading(Leading.MULTIPLIED, multiplier));
+            return style;
         }
     }
 
@@ -238,7 +314,23 @@ public class PdfGenerator {
     }
 
     // ===== FONT LOADER =====
-    private static PdfFont loadFont(String resourcePath) throws IOException {
+    // Font files are read and parsed once per JVM; a PdfFont is bound to a single
+    // document, so only the parsed FontProgram is shared between reports.
+    private static final class FontPrograms {
+        private static final FontProgram LATIN_REGULAR = loadFontProgram("fonts/NotoSans-Regular.ttf");
+        private static final FontProgram LATIN_BOLD = loadFontProgram("fonts/NotoSans-Bold.ttf");
+        private static final FontProgram SINHALA_REGULAR = loadFontProgram("fonts/NotoSansSinhala-Regular.ttf");
+    }
+
+    static PdfFont createFont(FontProgram fontProgram) {
+        return PdfFontFactory.createFont(
+                fontProgram,
+                PdfEncodings.IDENTITY_H,
+                PdfFontFactory.EmbeddingStrategy.PREFER_EMBEDDED
+        );
+    }
+
+    static FontProgram loadFontProgram(String resourcePath) {
         try (var is = PdfGenerator.class
                 .getClassLoader()
                 .getResourceAsStream(resourcePath)) {
@@ -249,10 +341,9 @@ public class PdfGenerator {
 
             byte[] fontBytes = is.readAllBytes();
 
-            return PdfFontFactory.createFont(
-                    fontBytes,
-                    PdfEncodings.IDENTITY_H
-            );
+            return FontProgramFactory.createFont(fontBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load font: " + resourcePath, e);
         }
     }
 
@@ -262,42 +353,21 @@ public class PdfGenerator {
             String text,
             PdfFont latin,
             PdfFont sinhala,
-            float size,
-            TextAlignment alignment
+            Style style
     ) {
-        Paragraph p = new Paragraph()
-                .setFontSize(size)
-                .setTextAlignment(alignment)
-                .setMultipliedLeading(0.75f);
+        Paragraph p = new Paragraph().addStyle(style);
 
         if (text == null || text.isEmpty()) return p;
 
-        StringBuilder buf = new StringBuilder();
-        boolean sinhalaRun = isSinhala(text.charAt(0));
-
-        for (char c : text.toCharArray()) {
-            boolean isSinhala = isSinhala(c);
-            if (isSinhala != sinhalaRun) {
-                p.add(new Text(buf.toString())
-                        .setFont(sinhalaRun ? sinhala : latin));
-                buf.setLength(0);
-                sinhalaRun = isSinhala;
-            }
-            buf.append(c);
-        }
-
-        if (!buf.isEmpty()) {
-            p.add(new Text(buf.toString())
-                    .setFont(sinhalaRun ? sinhala : latin));
+        // One Text element per font run; a single-run string is added without copying
+        for (ScriptSegmenter.Run run : ScriptSegmenter.segment(text)) {
+            p.add(new Text(text.substring(run.start(), run.end()))
+                    .setFont(run.sinhala() ? sinhala : latin));
         }
 
         return p;
     }
 
-    private static boolean isSinhala(char c) {
-        return c >= '\u0D80' && c <= '\u0DFF';
-    }
-
     // ===== UTILS =====
     private static String getUserName(UUID id, Map<UUID, UserInfo> map) {
         if (id == null) return "Unknown User";
@@ -316,6 +386,11 @@ public class PdfGenerator {
         };
     }
 
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) sb.append('0');
+        return sb.append(value);
+    }
+
     private static String safe(String s) {
         return s == null ? "" : s;
     }
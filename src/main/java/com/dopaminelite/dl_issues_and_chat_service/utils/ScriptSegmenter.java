@@ -0,0 +1,77 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits text into runs that can each be rendered with a single font.
+ * Only Sinhala has a dedicated font; every other script falls back to the Latin font.
+ * Whitespace, digits, common punctuation and zero-width joiners exist in both fonts,
+ * so they stay in the surrounding run instead of forcing a font switch.
+ */
+public final class ScriptSegmenter {
+
+    public record Run(int start, int end, boolean sinhala) {
+    }
+
+    // Code points shared by NotoSans and NotoSansSinhala (besides whitespace and ASCII digits)
+    private static final String SHARED_SYMBOLS =
+            "!\"#%'()*+,-./:;<=>?[\\]^_{|}~"
+                    + "\u00A0\u00AD\u00D7\u00F7"
+                    + "\u200B\u200C\u200D"
+                    + "\u2013\u2014\u2018\u2019\u201C\u201D\u2026\u2212";
+
+    private static final boolean[] NEUTRAL = new boolean[0x2213];
+
+    static {
+        for (int i = 0; i < SHARED_SYMBOLS.length(); i++) {
+            NEUTRAL[SHARED_SYMBOLS.charAt(i)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            NEUTRAL[c] = true;
+        }
+    }
+
+    private ScriptSegmenter() {
+    }
+
+    public static List<Run> segment(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Run> runs = new ArrayList<>(4);
+        int length = text.length();
+        int runStart = 0;
+        // null until the first non-neutral code point decides the script of the run
+        Boolean runSinhala = null;
+
+        for (int i = 0; i < length; ) {
+            int cp = text.codePointAt(i);
+            if (!isNeutral(cp)) {
+                boolean sinhala = isSinhala(cp);
+                if (runSinhala == null) {
+                    runSinhala = sinhala;
+                } else if (sinhala != runSinhala) {
+                    runs.add(new Run(runStart, i, runSinhala));
+                    runStart = i;
+                    runSinhala = sinhala;
+                }
+            }
+            i += Character.charCount(cp);
+        }
+
+        runs.add(new Run(runStart, length, runSinhala != null && runSinhala));
+        return runs;
+    }
+
+    static boolean isSinhala(int cp) {
+        return (cp >= 0x0D80 && cp <= 0x0DFF)           // Sinhala
+                || (cp >= 0x111E0 && cp <= 0x111FF);    // Sinhala Archaic Numbers
+    }
+
+    static boolean isNeutral(int cp) {
+        return (cp < NEUTRAL.length && NEUTRAL[cp]) || Character.isWhitespace(cp);
+    }
+}
@@ -0,0 +1,204 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.TranscriptFormat;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an issue conversation one message at a time, so a transcript never has to be
+ * held in memory. Call {@link #writeHeader}, then {@link #writeMessage} per message,
+ * then {@link #writeFooter}; the underlying writer is flushed but never closed.
+ */
+public abstract class TranscriptWriter implements Flushable {
+
+    private static final ZoneId COLOMBO_ZONE = ZoneId.of("Asia/Colombo");
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+                    .withZone(COLOMBO_ZONE);
+
+    protected final Writer out;
+
+    protected TranscriptWriter(Writer out) {
+        this.out = out;
+    }
+
+    public static TranscriptWriter create(TranscriptFormat format, Writer out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case TXT -> new PlainText(out);
+            case HTML -> new Html(out);
+            case JSONL -> new JsonLines(out, objectMapper);
+        };
+    }
+
+    public abstract void writeHeader(Issue issue) throws IOException;
+
+    public abstract void writeMessage(IssueMessage message, String senderName) throws IOException;
+
+    public abstract void writeFooter() throws IOException;
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    protected static String formatTimestamp(Instant instant) {
+        return instant != null ? TIMESTAMP_FORMAT.format(instant) : "";
+    }
+
+    protected static String safe(String s) {
+        return s == null ? "" : s;
+    }
+
+    // ===== PLAIN TEXT =====
+    private static final class PlainText extends TranscriptWriter {
+
+        private PlainText(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void writeHeader(Issue issue) throws IOException {
+            out.write("Issue No. " + issue.getIssueNumber() + " - " + safe(issue.getTitle()) + "\n");
+            out.write("Status: " + issue.getStatus() + "\n");
+            out.write("Created At: " + formatTimestamp(issue.getCreatedAt()) + "\n\n");
+        }
+
+        @Override
+        public void writeMessage(IssueMessage message, String senderName) throws IOException {
+            out.write('[');
+            out.write(formatTimestamp(message.getCreatedAt()));
+            out.write("] ");
+            out.write(senderName);
+            out.write(" (");
+            out.write(String.valueOf(message.getSenderRole()));
+            out.write("): ");
+            out.write(safe(message.getContent()));
+            for (UploadedFileRef attachment : message.getAttachments()) {
+                if (attachment.getFileName() != null) {
+                    out.write(" [attachment: ");
+                    out.write(attachment.getFileName());
+                    out.write(']');
+                }
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void writeFooter() throws IOException {
+            out.flush();
+        }
+    }
+
+    // ===== HTML =====
+    private static final class Html extends TranscriptWriter {
+
+        private Html(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void writeHeader(Issue issue) throws IOException {
+            String title = "Issue No. " + issue.getIssueNumber() + " - " + safe(issue.getTitle());
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>");
+            out.write(HtmlUtils.htmlEscape(title));
+            out.write("</title></head><body>\n<h1>");
+            out.write(HtmlUtils.htmlEscape(title));
+            out.write("</h1>\n<p>Status: ");
+            out.write(String.valueOf(issue.getStatus()));
+            out.write("</p>\n<ol>\n");
+        }
+
+        @Override
+        public void writeMessage(IssueMessage message, String senderName) throws IOException {
+            out.write("<li data-role=\"");
+            out.write(String.valueOf(message.getSenderRole()));
+            out.write("\"><time>");
+            out.write(formatTimestamp(message.getCreatedAt()));
+            out.write("</time> <b>");
+            out.write(HtmlUtils.htmlEscape(senderName));
+            out.write("</b>: <span>");
+            out.write(HtmlUtils.htmlEscape(safe(message.getContent())));
+            out.write("</span>");
+            for (UploadedFileRef attachment : message.getAttachments()) {
+                if (attachment.getFileName() != null) {
+                    out.write(" <i>[attachment: ");
+                    out.write(HtmlUtils.htmlEscape(attachment.getFileName()));
+                    out.write("]</i>");
+                }
+            }
+            out.write("</li>\n");
+        }
+
+        @Override
+        public void writeFooter() throws IOException {
+            out.write("</ol>\n</body></html>\n");
+            out.flush();
+        }
+    }
+
+    // ===== JSON LINES =====
+    // One JSON object per message and line; the issue itself is not part of the stream
+    private static final class JsonLines extends TranscriptWriter {
+
+        private final JsonGenerator generator;
+
+        private JsonLines(Writer out, ObjectMapper objectMapper) throws IOException {
+            super(out);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly; drop Jackson's default space between root values
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader(Issue issue) {
+        }
+
+        @Override
+        public void writeMessage(IssueMessage message, String senderName) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", String.valueOf(message.getId()));
+            generator.writeStringField("issueId", String.valueOf(message.getIssueId()));
+            generator.writeStringField("senderId", String.valueOf(message.getSenderId()));
+            generator.writeStringField("senderName", senderName);
+            generator.writeStringField("senderRole", String.valueOf(message.getSenderRole()));
+            generator.writeStringField("content", message.getContent());
+            generator.writeStringField("createdAt", String.valueOf(message.getCreatedAt()));
+            if (!message.getAttachments().isEmpty()) {
+                generator.writeArrayFieldStart("attachments");
+                for (UploadedFileRef attachment : message.getAttachments()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("fileId", attachment.getFileId());
+                    generator.writeStringField("fileName", attachment.getFileName());
+                    generator.writeStringField("fileType", attachment.getFileType());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void writeFooter() throws IOException {
+            flush();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
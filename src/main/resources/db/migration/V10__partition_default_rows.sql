@@ -0,0 +1,86 @@
+-- CREATE TABLE ... PARTITION OF fails while the DEFAULT partition holds rows in the new month's
+-- range, and the error aborted ensure_issue_message_partitions() for every later month as well,
+-- on every run. Such rows are now moved into the month's partition as it is created, and each
+-- month is attempted on its own. MessagePartitionMaintenance reports rows left in the default.
+
+CREATE OR REPLACE FUNCTION public.create_issue_message_partition(month_start timestamp)
+    RETURNS boolean
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    lower_bound timestamp := date_trunc('month', month_start);
+    partition_name text := 'dopaminelite_issue_messages_' || to_char(lower_bound, 'YYYY_MM');
+    -- Bounds are UTC month starts
+    range_start timestamptz := lower_bound AT TIME ZONE 'UTC';
+    range_end timestamptz := (lower_bound + interval '1 month') AT TIME ZONE 'UTC';
+    has_stray_rows boolean;
+    column_list text;
+BEGIN
+    IF to_regclass('public.' || partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    SELECT EXISTS (SELECT 1
+                   FROM public.dopaminelite_issue_messages_default
+                   WHERE created_at >= range_start
+                     AND created_at < range_end)
+    INTO has_stray_rows;
+
+    -- The month cannot be created while the default still covers rows in its range
+    IF has_stray_rows THEN
+        ALTER TABLE public.dopaminelite_issue_messages
+            DETACH PARTITION public.dopaminelite_issue_messages_default;
+    END IF;
+
+    EXECUTE format(
+            'CREATE TABLE public.%I PARTITION OF public.dopaminelite_issue_messages FOR VALUES FROM (%L) TO (%L)',
+            partition_name, range_start, range_end);
+
+    IF has_stray_rows THEN
+        -- Generated columns cannot be inserted; the new partition computes them again
+        SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum)
+        INTO column_list
+        FROM pg_attribute
+        WHERE attrelid = 'public.dopaminelite_issue_messages'::regclass
+          AND attnum > 0
+          AND NOT attisdropped
+          AND attgenerated = '';
+
+        EXECUTE format(
+                'WITH moved AS ('
+                    || 'DELETE FROM public.dopaminelite_issue_messages_default '
+                    || 'WHERE created_at >= %L AND created_at < %L RETURNING %s) '
+                    || 'INSERT INTO public.%I (%s) SELECT %s FROM moved',
+                range_start, range_end, column_list, partition_name, column_list, column_list);
+
+        ALTER TABLE public.dopaminelite_issue_messages
+            ATTACH PARTITION public.dopaminelite_issue_messages_default DEFAULT;
+        RAISE NOTICE 'Moved rows for % out of the default partition', partition_name;
+    END IF;
+    RETURN true;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.ensure_issue_message_partitions(months_ahead integer)
+    RETURNS integer
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    current_month timestamp := date_trunc('month', now() AT TIME ZONE 'UTC');
+    created integer := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        -- Each month runs in its own subtransaction, so a failure skips only that month
+        BEGIN
+            IF public.create_issue_message_partition(current_month + make_interval(months => i)) THEN
+                created := created + 1;
+            END IF;
+        EXCEPTION
+            WHEN OTHERS THEN
+                RAISE WARNING 'Could not create message partition for %: %',
+                    to_char(current_month + make_interval(months => i), 'YYYY_MM'), SQLERRM;
+        END;
+    END LOOP;
+    RETURN created;
+END;
+$$;
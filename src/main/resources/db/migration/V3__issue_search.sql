@@ -0,0 +1,30 @@
+-- Full-text search over issues and messages.
+-- The 'simple' configuration lower-cases and tokenizes without stemming, which also
+-- works for Sinhala text; pg_trgm backs substring (ILIKE) fallback and similarity ranking.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE public.dopaminelite_issues
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_issues_search_vector
+    ON public.dopaminelite_issues USING gin (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_issues_title_trgm
+    ON public.dopaminelite_issues USING gin (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_issues_description_trgm
+    ON public.dopaminelite_issues USING gin (description gin_trgm_ops);
+
+ALTER TABLE public.dopaminelite_issue_messages
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_issue_messages_search_vector
+    ON public.dopaminelite_issue_messages USING gin (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_issue_messages_content_trgm
+    ON public.dopaminelite_issue_messages USING gin (content gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Attachments are always looked up by issue; without this every lookup scans the whole table
+CREATE INDEX IF NOT EXISTS idx_issue_attachments_issue_id
+    ON public.dopaminelite_issue_attachments (issue_id);
@@ -0,0 +1,21 @@
+-- Messages can carry several attachments; the embedded file_* columns on
+-- dopaminelite_issue_messages keep the first one so older readers still see it.
+CREATE TABLE IF NOT EXISTS public.dopaminelite_issue_message_attachments
+(
+    message_id uuid NOT NULL,
+    position integer NOT NULL,
+    file_id character varying(255),
+    file_name character varying(255),
+    file_type character varying(255),
+    CONSTRAINT dopaminelite_issue_message_attachments_pkey PRIMARY KEY (message_id, position),
+    CONSTRAINT fk_message_attachments_message FOREIGN KEY (message_id)
+        REFERENCES public.dopaminelite_issue_messages (id)
+        ON DELETE CASCADE
+);
+
+-- Backfill from the embedded columns
+INSERT INTO public.dopaminelite_issue_message_attachments (message_id, position, file_id, file_name, file_type)
+SELECT id, 0, file_id, file_name, file_type
+FROM public.dopaminelite_issue_messages
+WHERE file_id IS NOT NULL OR file_name IS NOT NULL
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,107 @@
+-- Monthly range partitioning of dopaminelite_issue_messages by created_at.
+-- Recent conversations live in small partitions; indexes defined on the parent are
+-- created on every partition. New partitions come from ensure_issue_message_partitions(),
+-- which MessagePartitionMaintenance calls at startup and daily.
+
+-- A foreign key cannot point at a partitioned table unless it includes created_at
+ALTER TABLE public.dopaminelite_issue_message_attachments
+    DROP CONSTRAINT IF EXISTS fk_message_attachments_message;
+
+ALTER TABLE public.dopaminelite_issue_messages RENAME TO dopaminelite_issue_messages_legacy;
+
+CREATE TABLE public.dopaminelite_issue_messages
+(
+    id uuid NOT NULL,
+    file_id character varying(255),
+    file_name character varying(255),
+    file_type character varying(255),
+    content text NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    issue_id uuid NOT NULL,
+    sender_id uuid NOT NULL,
+    sender_role character varying(255) NOT NULL,
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(content, ''))) STORED,
+    CONSTRAINT dopaminelite_issue_messages_sender_role_check CHECK (sender_role::text = ANY (ARRAY['STUDENT'::character varying, 'ADMIN'::character varying, 'MAIN_ADMIN'::character varying]::text[]))
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside every monthly partition so inserts never fail
+CREATE TABLE public.dopaminelite_issue_messages_default
+    PARTITION OF public.dopaminelite_issue_messages DEFAULT;
+
+CREATE OR REPLACE FUNCTION public.create_issue_message_partition(month_start timestamp)
+    RETURNS boolean
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    lower_bound timestamp := date_trunc('month', month_start);
+    partition_name text := 'dopaminelite_issue_messages_' || to_char(lower_bound, 'YYYY_MM');
+BEGIN
+    IF to_regclass('public.' || partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    -- Bounds are UTC month starts
+    EXECUTE format(
+            'CREATE TABLE public.%I PARTITION OF public.dopaminelite_issue_messages FOR VALUES FROM (%L) TO (%L)',
+            partition_name,
+            lower_bound AT TIME ZONE 'UTC',
+            (lower_bound + interval '1 month') AT TIME ZONE 'UTC');
+    RETURN true;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.ensure_issue_message_partitions(months_ahead integer)
+    RETURNS integer
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    current_month timestamp := date_trunc('month', now() AT TIME ZONE 'UTC');
+    created integer := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        IF public.create_issue_message_partition(current_month + make_interval(months => i)) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- One partition per month that already has messages, then the current and next three months
+DO $$
+DECLARE
+    month_cursor timestamp;
+BEGIN
+    FOR month_cursor IN
+        SELECT DISTINCT date_trunc('month', created_at AT TIME ZONE 'UTC')
+        FROM public.dopaminelite_issue_messages_legacy
+    LOOP
+        PERFORM public.create_issue_message_partition(month_cursor);
+    END LOOP;
+    PERFORM public.ensure_issue_message_partitions(3);
+END;
+$$;
+
+INSERT INTO public.dopaminelite_issue_messages
+    (id, file_id, file_name, file_type, content, created_at, issue_id, sender_id, sender_role)
+SELECT id, file_id, file_name, file_type, content, created_at, issue_id, sender_id, sender_role
+FROM public.dopaminelite_issue_messages_legacy;
+
+DROP TABLE public.dopaminelite_issue_messages_legacy;
+
+-- The primary key must include the partition key; ids stay unique in practice (random UUIDs)
+ALTER TABLE public.dopaminelite_issue_messages
+    ADD CONSTRAINT dopaminelite_issue_messages_pkey PRIMARY KEY (id, created_at);
+
+-- Index templates, created on every existing and future partition
+CREATE INDEX idx_issue_messages_issue_created
+    ON public.dopaminelite_issue_messages (issue_id, created_at);
+
+CREATE INDEX idx_issue_messages_created
+    ON public.dopaminelite_issue_messages (created_at);
+
+CREATE INDEX idx_issue_messages_search_vector
+    ON public.dopaminelite_issue_messages USING gin (search_vector);
+
+CREATE INDEX idx_issue_messages_content_trgm
+    ON public.dopaminelite_issue_messages USING gin (content gin_trgm_ops);
+
@@ -0,0 +1,23 @@
+-- Cold tier: conversations of long-solved issues, one gzip-compressed JSON array per issue.
+-- Rows move here from dopaminelite_issue_messages (and its attachments table) via MessageArchiveService.
+CREATE TABLE IF NOT EXISTS public.dopaminelite_issue_message_archive
+(
+    issue_id uuid NOT NULL,
+    message_count integer NOT NULL,
+    first_message_at timestamp(6) with time zone,
+    last_message_at timestamp(6) with time zone,
+    raw_bytes bigint NOT NULL,
+    payload bytea NOT NULL,
+    archived_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT dopaminelite_issue_message_archive_pkey PRIMARY KEY (issue_id),
+    CONSTRAINT fk_message_archive_issue FOREIGN KEY (issue_id)
+        REFERENCES public.dopaminelite_issues (id)
+);
+
+-- The payload is already compressed; skip TOAST compression attempts
+ALTER TABLE public.dopaminelite_issue_message_archive
+    ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+-- Finds solved issues that are due for archiving
+CREATE INDEX IF NOT EXISTS idx_issues_status_solved_at
+    ON public.dopaminelite_issues (status, solved_at);
@@ -0,0 +1,15 @@
+-- Large message bodies: LZ4 TOAST compression plus preview columns for thread pages.
+-- Requires PostgreSQL 14+.
+
+-- Bodies are compressed once a row passes the TOAST threshold (~2 kB) and only decompressed
+-- when the column is actually selected. LZ4 is several times faster than the default pglz
+-- in both directions. Applies to every partition, and partitions created later inherit it;
+-- existing values keep pglz until they are rewritten.
+ALTER TABLE public.dopaminelite_issue_messages
+    ALTER COLUMN content SET COMPRESSION lz4;
+
+-- Thread pages select these instead of content, so large bodies are never detoasted for a list.
+-- 280 must match IssueMessage.PREVIEW_LENGTH.
+ALTER TABLE public.dopaminelite_issue_messages
+    ADD COLUMN content_preview varchar(280) GENERATED ALWAYS AS (left(content, 280)) STORED,
+    ADD COLUMN content_length integer GENERATED ALWAYS AS (char_length(content)) STORED;
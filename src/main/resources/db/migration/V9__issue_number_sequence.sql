@@ -0,0 +1,10 @@
+-- IssueNumberGenerator draws from this sequence, but no earlier migration created it: databases
+-- built from V1 alone (fresh installs, Testcontainers) could not create issues.
+
+CREATE SEQUENCE IF NOT EXISTS public.issue_number_seq;
+
+-- Where issues already exist and the sequence is behind them, continue after the highest number.
+SELECT setval('public.issue_number_seq', m.max_number)
+FROM (SELECT MAX(issue_number) AS max_number FROM public.dopaminelite_issues) m
+WHERE m.max_number IS NOT NULL
+  AND m.max_number >= (SELECT last_value FROM public.issue_number_seq);
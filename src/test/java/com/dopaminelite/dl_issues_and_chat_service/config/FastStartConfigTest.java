@@ -0,0 +1,20 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastStartConfigTest {
+
+    @Test
+    void eagerEntityManagerFactory_excludesOnlyTheEntityManagerFactory() {
+        LazyInitializationExcludeFilter filter = FastStartConfig.eagerEntityManagerFactory();
+
+        assertTrue(filter.isExcluded("entityManagerFactory", new RootBeanDefinition(), EntityManagerFactory.class));
+        assertFalse(filter.isExcluded("userServiceClient", new RootBeanDefinition(), UserServiceClient.class));
+    }
+}
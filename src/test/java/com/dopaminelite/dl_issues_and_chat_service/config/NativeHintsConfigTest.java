@@ -0,0 +1,21 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    @Test
+    void resourceHints_includeReportFonts() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new NativeHintsConfig.ResourceHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("fonts/NotoSans-Regular.ttf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("fonts/NotoSans-Bold.ttf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("fonts/NotoSansSinhala-Regular.ttf").test(hints));
+    }
+}
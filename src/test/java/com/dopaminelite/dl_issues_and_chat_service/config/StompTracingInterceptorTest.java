@@ -0,0 +1,120 @@
+package com.dopaminelite.dl_issues_and_chat_service.config;
+
+import com.dopaminelite.dl_issues_and_chat_service.tracing.InMemoryTracing;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StompTracingInterceptorTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String PARENT_SPAN_ID = "b7ad6b7169203331";
+
+    private InMemoryTracing tracing;
+    private StompTracingInterceptor interceptor;
+    private MessageChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        tracing = new InMemoryTracing();
+        interceptor = new StompTracingInterceptor(tracing.tracer(), tracing.propagator());
+        channel = mock(MessageChannel.class);
+    }
+
+    @Test
+    void sendFrame_withTraceparent_isHandledInChildSpanOfClientTrace() {
+        SimpAnnotationMethodMessageHandler handler = mock(SimpAnnotationMethodMessageHandler.class);
+        Message<?> message = sendFrame("00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+
+        interceptor.beforeHandle(message, channel, handler);
+        Span current = tracing.tracer().currentSpan();
+        interceptor.afterMessageHandled(message, channel, handler, null);
+
+        assertNotNull(current);
+        assertEquals(TRACE_ID, current.context().traceId());
+        assertNull(tracing.tracer().currentSpan());
+
+        SpanData span = tracing.span("chat.stomp.send");
+        assertEquals(TRACE_ID, span.getTraceId());
+        assertEquals(PARENT_SPAN_ID, span.getParentSpanId());
+        assertEquals(SpanKind.CONSUMER, span.getKind());
+    }
+
+    @Test
+    void sendFrame_withoutTraceparent_startsNewTrace() {
+        SimpAnnotationMethodMessageHandler handler = mock(SimpAnnotationMethodMessageHandler.class);
+        Message<?> message = sendFrame(null);
+
+        interceptor.beforeHandle(message, channel, handler);
+        interceptor.afterMessageHandled(message, channel, handler, new IllegalStateException("boom"));
+
+        SpanData span = tracing.span("chat.stomp.send");
+        assertFalse(span.getParentSpanContext().isValid());
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+    }
+
+    @Test
+    void brokerHandler_isNotTraced() {
+        SimpleBrokerMessageHandler handler = mock(SimpleBrokerMessageHandler.class);
+        Message<?> message = sendFrame("00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+
+        interceptor.beforeHandle(message, channel, handler);
+        interceptor.afterMessageHandled(message, channel, handler, null);
+
+        assertTrue(tracing.finishedSpans().isEmpty());
+    }
+
+    @Test
+    void broadcast_insideSpan_carriesTraceparentNativeHeader() {
+        BroadcastTracingInterceptor broadcastInterceptor =
+                new BroadcastTracingInterceptor(tracing.tracer(), tracing.propagator());
+        Message<?> message = sendFrame(null);
+
+        Span span = tracing.tracer().nextSpan().name("chat.message.broadcast").start();
+        Message<?> sent;
+        try (Tracer.SpanInScope ignored = tracing.tracer().withSpan(span)) {
+            sent = broadcastInterceptor.preSend(message, channel);
+        } finally {
+            span.end();
+        }
+
+        String traceparent = SimpMessageHeaderAccessor.wrap(sent).getFirstNativeHeader("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.contains(span.context().traceId()));
+        assertTrue(traceparent.contains(span.context().spanId()));
+        assertEquals("/topic/issues/1", SimpMessageHeaderAccessor.getDestination(sent.getHeaders()));
+    }
+
+    @Test
+    void broadcast_withoutSpan_isUnchanged() {
+        BroadcastTracingInterceptor broadcastInterceptor =
+                new BroadcastTracingInterceptor(tracing.tracer(), tracing.propagator());
+        Message<?> message = sendFrame(null);
+
+        assertSame(message, broadcastInterceptor.preSend(message, channel));
+    }
+
+    private static Message<?> sendFrame(String traceparent) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/topic/issues/1");
+        accessor.setSessionId("session-1");
+        if (traceparent != null) {
+            accessor.setNativeHeader("traceparent", traceparent);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
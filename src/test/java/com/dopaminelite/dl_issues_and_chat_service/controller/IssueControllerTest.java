@@ -2,11 +2,20 @@ package com.dopaminelite.dl_issues_and_chat_service.controller;
 
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueAssignRequest;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueCreateRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSummary;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueUpdateStatusRequest;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueReportExportService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueSearchService;
 import com.dopaminelite.dl_issues_and_chat_service.service.IssueService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueSuggestService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueTranscriptService;
+import com.dopaminelite.dl_issues_and_chat_service.service.IssueVersionCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,6 +24,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -29,6 +39,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +52,31 @@ public class IssueControllerTest {
         public IssueService issueService() {
             return Mockito.mock(IssueService.class);
         }
+
+        @Bean
+        public IssueReportExportService issueReportExportService() {
+            return Mockito.mock(IssueReportExportService.class);
+        }
+
+        @Bean
+        public IssueTranscriptService issueTranscriptService() {
+            return Mockito.mock(IssueTranscriptService.class);
+        }
+
+        @Bean
+        public IssueSearchService issueSearchService() {
+            return Mockito.mock(IssueSearchService.class);
+        }
+
+        @Bean
+        public IssueSuggestService issueSuggestService() {
+            return Mockito.mock(IssueSuggestService.class);
+        }
+
+        @Bean
+        public IssueVersionCache issueVersionCache() {
+            return Mockito.mock(IssueVersionCache.class);
+        }
     }
 
     @Autowired
@@ -52,6 +88,12 @@ public class IssueControllerTest {
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private IssueSearchService issueSearchService;
+
+    @Autowired
+    private IssueVersionCache issueVersionCache;
+
     @Test
     public void getIssue_found_returns200AndBody() throws Exception {
         UUID id = UUID.randomUUID();
@@ -76,6 +118,204 @@ public class IssueControllerTest {
                 .andExpect(jsonPath("$.description").value("A test description"));
     }
 
+    @Test
+    public void getIssueByNumber_found_returns200AndBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        Issue issue = Issue.builder()
+                .id(id)
+                .issueNumber(1042L)
+                .title("Numbered Issue")
+                .description("d")
+                .studentId(UUID.randomUUID())
+                .build();
+
+        Mockito.when(issueService.getIssueByNumber(eq(1042L))).thenReturn(Optional.of(issue));
+
+        mockMvc.perform(get("/issues/by-number/{issueNumber}", 1042).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.issueNumber").value(1042));
+    }
+
+    @Test
+    public void getIssueByNumber_notFound_returns404() throws Exception {
+        Mockito.when(issueService.getIssueByNumber(eq(7L))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/by-number/{issueNumber}", 7).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getIssuesByNumbers_tooMany_returns400() throws Exception {
+        String numbers = java.util.stream.LongStream.rangeClosed(1, IssueController.MAX_BATCH_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(","));
+
+        mockMvc.perform(get("/issues/by-number").param("numbers", numbers).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void batchGetIssues_projectsFieldsAndAnswers304WhenUnchanged() throws Exception {
+        UUID id = UUID.randomUUID();
+        Issue issue = Issue.builder()
+                .id(id)
+                .title("Batch Issue")
+                .description("d")
+                .studentId(UUID.randomUUID())
+                .status(IssueStatus.IN_PROGRESS)
+                .updatedAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+        Mockito.when(issueService.getCombinedVersion(eq(List.of(id)))).thenReturn("v1");
+        Mockito.when(issueService.getIssuesByIds(eq(List.of(id)))).thenReturn(List.of(issue));
+
+        String body = objectMapper.writeValueAsString(Map.of("ids", List.of(id), "fields", List.of("status", "updatedAt")));
+        String eTag = mockMvc.perform(post("/issues/batch-get").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$[0].title").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/issues/batch-get").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(issueService, Mockito.times(1)).getIssuesByIds(any());
+    }
+
+    @Test
+    public void batchGetIssues_unknownField_returns400() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("ids", List.of(UUID.randomUUID()), "fields", List.of("password")));
+
+        mockMvc.perform(post("/issues/batch-get").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getIssue_matchingIfNoneMatch_returns304WithoutLoadingIssue() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(issueVersionCache.issueETag(eq(id))).thenReturn(Optional.of("\"i1.0\""));
+
+        mockMvc.perform(get("/issues/{issueId}", id).header("If-None-Match", "\"i1.0\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(issueService, Mockito.never()).getIssueById(eq(id));
+    }
+
+    @Test
+    public void getIssue_staleIfNoneMatch_returns200WithETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        Instant updatedAt = Instant.parse("2025-03-01T10:15:30.123456Z");
+        Issue issue = Issue.builder()
+                .id(id)
+                .title("t")
+                .description("d")
+                .studentId(UUID.randomUUID())
+                .updatedAt(updatedAt)
+                .build();
+        Mockito.when(issueVersionCache.issueETag(eq(id))).thenReturn(Optional.of(IssueVersionCache.issueETag(updatedAt)));
+        Mockito.when(issueService.getIssueById(eq(id))).thenReturn(Optional.of(issue));
+
+        mockMvc.perform(get("/issues/{issueId}", id).header("If-None-Match", "\"i0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", IssueVersionCache.issueETag(updatedAt)));
+    }
+
+    @Test
+    public void listIssueMessages_matchingIfNoneMatch_returns304() throws Exception {
+        UUID id = UUID.randomUUID();
+        String eTag = IssueVersionCache.messagesETag(3, UUID.randomUUID());
+        Mockito.when(issueVersionCache.messagesETag(eq(id))).thenReturn(Optional.of(eTag));
+
+        mockMvc.perform(get("/issues/{issueId}/messages", id).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void listIssueMessages_unknownIssueWithEmptyConversationTag_returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(issueVersionCache.messagesETag(eq(id))).thenReturn(Optional.empty());
+        Mockito.when(issueService.getIssueById(eq(id))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/{issueId}/messages", id)
+                        .header("If-None-Match", IssueVersionCache.messagesETag(0, null)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void listIssueMessages_marksTruncatedPreviews() throws Exception {
+        UUID id = UUID.randomUUID();
+        Issue issue = Issue.builder().id(id).build();
+        IssueMessage preview = new IssueMessage(UUID.randomUUID(), id, UUID.randomUUID(), Role.STUDENT,
+                "x".repeat(IssueMessage.PREVIEW_LENGTH), 10_000, null, null, null, Instant.now());
+        IssueMessage small = new IssueMessage(UUID.randomUUID(), id, UUID.randomUUID(), Role.ADMIN,
+                "ok", 2, null, null, null, Instant.now());
+        Mockito.when(issueVersionCache.messagesETag(eq(id))).thenReturn(Optional.empty());
+        Mockito.when(issueService.getIssueById(eq(id))).thenReturn(Optional.of(issue));
+        Mockito.when(issueService.getMessagesByIssueId(eq(id), any(), eq(true)))
+                .thenReturn(new PageImpl<>(List.of(preview, small), PageRequest.of(0, 10), 2));
+
+        mockMvc.perform(get("/issues/{issueId}/messages", id).param("preview", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].contentTruncated").value(true))
+                .andExpect(jsonPath("$.items[0].contentPreview").doesNotExist())
+                .andExpect(jsonPath("$.items[1].contentTruncated").doesNotExist())
+                .andExpect(jsonPath("$.items[1].content").value("ok"));
+    }
+
+    @Test
+    public void listIssueMessages_defaultsToFullContent() throws Exception {
+        UUID id = UUID.randomUUID();
+        Issue issue = Issue.builder().id(id).build();
+        String body = "x".repeat(IssueMessage.PREVIEW_LENGTH * 2);
+        IssueMessage message = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(id)
+                .senderRole(Role.STUDENT)
+                .content(body)
+                .createdAt(Instant.now())
+                .build();
+        Mockito.when(issueVersionCache.messagesETag(eq(id))).thenReturn(Optional.empty());
+        Mockito.when(issueService.getIssueById(eq(id))).thenReturn(Optional.of(issue));
+        Mockito.when(issueService.getMessagesByIssueId(eq(id), any(), eq(false)))
+                .thenReturn(new PageImpl<>(List.of(message), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/issues/{issueId}/messages", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].content").value(body))
+                .andExpect(jsonPath("$.items[0].contentTruncated").doesNotExist());
+    }
+
+    @Test
+    public void getIssueMessage_returnsFullContent() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID messageId = UUID.randomUUID();
+        String body = "x".repeat(IssueMessage.PREVIEW_LENGTH * 4);
+        IssueMessage message = IssueMessage.builder()
+                .id(messageId)
+                .issueId(id)
+                .senderRole(Role.STUDENT)
+                .content(body)
+                .createdAt(Instant.now())
+                .build();
+        Mockito.when(issueService.getMessage(eq(id), eq(messageId))).thenReturn(Optional.of(message));
+
+        mockMvc.perform(get("/issues/{issueId}/messages/{messageId}", id, messageId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value(body));
+    }
+
+    @Test
+    public void getIssueMessage_notFound_returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID messageId = UUID.randomUUID();
+        Mockito.when(issueService.getMessage(eq(id), eq(messageId))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/{issueId}/messages/{messageId}", id, messageId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void getIssue_notFound_returns404() throws Exception {
         UUID id = UUID.randomUUID();
@@ -162,6 +402,69 @@ public class IssueControllerTest {
                 .andExpect(jsonPath("$.content[0].title").value("List Issue"));
     }
 
+    @Test
+    public void listIssues_summaryView_omitsDescription() throws Exception {
+        UUID id = UUID.randomUUID();
+        IssueSummary summary = new IssueSummary(id, 5L, "Summary Issue", UUID.randomUUID(), null,
+                IssueStatus.OPEN, IssueAssignmentStatus.UNASSIGNED, false, Instant.now(), Instant.now(), null);
+        Mockito.when(issueService.getIssueSummaries(any(), any())).thenReturn(new PageImpl<>(List.of(summary)));
+
+        mockMvc.perform(get("/issues").param("view", "summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.content[0].title").value("Summary Issue"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].attachments").doesNotExist());
+    }
+
+    @Test
+    public void listIssues_summaryViewWithAttachments_addsThemFromOneQuery() throws Exception {
+        UUID withFile = UUID.randomUUID();
+        UUID withoutFile = UUID.randomUUID();
+        IssueSummary first = new IssueSummary(withFile, 5L, "one", UUID.randomUUID(), null,
+                IssueStatus.OPEN, IssueAssignmentStatus.UNASSIGNED, false, Instant.now(), Instant.now(), null);
+        IssueSummary second = new IssueSummary(withoutFile, 6L, "two", UUID.randomUUID(), null,
+                IssueStatus.OPEN, IssueAssignmentStatus.UNASSIGNED, false, Instant.now(), Instant.now(), null);
+        UploadedFileRef file = UploadedFileRef.builder().fileId("f1").fileName("a.png").fileType("image/png").build();
+        Mockito.when(issueService.getIssueSummaries(any(), any())).thenReturn(new PageImpl<>(List.of(first, second)));
+        Mockito.when(issueService.getAttachmentsByIssueIds(eq(List.of(withFile, withoutFile))))
+                .thenReturn(Map.of(withFile, List.of(file)));
+
+        mockMvc.perform(get("/issues").param("view", "summary").param("include", "attachments")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].attachments[0].fileId").value("f1"))
+                .andExpect(jsonPath("$.content[1].attachments").isEmpty())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        Mockito.verify(issueService, Mockito.times(1)).getAttachmentsByIssueIds(any());
+    }
+
+    @Test
+    public void listIssues_includeAttachments_loadsThemOnceForThePage() throws Exception {
+        Issue first = Issue.builder().id(UUID.randomUUID()).title("one").description("d").studentId(UUID.randomUUID()).build();
+        Issue second = Issue.builder().id(UUID.randomUUID()).title("two").description("d").studentId(UUID.randomUUID()).build();
+        UploadedFileRef file = UploadedFileRef.builder().fileId("f1").fileName("a.png").fileType("image/png").build();
+        Mockito.when(issueService.getIssuesByAdminFilters(eq(IssueStatus.SOLVED), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(first, second)));
+        Mockito.when(issueService.getAttachmentsByIssueIds(eq(List.of(first.getId(), second.getId()))))
+                .thenReturn(Map.of(first.getId(), List.of(file)));
+
+        mockMvc.perform(get("/issues").param("status", "SOLVED").param("include", "attachments")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].attachments[0].fileId").value("f1"))
+                .andExpect(jsonPath("$.content[1].attachments").isEmpty());
+
+        Mockito.verify(issueService, Mockito.times(1)).getAttachmentsByIssueIds(any());
+    }
+
+    @Test
+    public void listIssues_unknownView_returns400() throws Exception {
+        mockMvc.perform(get("/issues").param("view", "everything").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void assignIssue_success_returns200() throws Exception {
         UUID id = UUID.randomUUID();
@@ -278,4 +581,35 @@ public class IssueControllerTest {
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    public void exportIssueReports_missingRange_returns400() throws Exception {
+        mockMvc.perform(get("/issues/reports/export").param("from", "2025-01-31T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void downloadIssueTranscript_unsupportedFormat_returns400() throws Exception {
+        mockMvc.perform(get("/issues/{issueId}/transcript", UUID.randomUUID()).param("format", "docx"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void downloadIssueTranscript_notFound_returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(issueService.getIssueById(eq(id))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/{issueId}/transcript", id).param("format", "jsonl"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void searchIssues_invalidQuery_returns400() throws Exception {
+        Mockito.when(issueSearchService.search(eq("a"), any(), Mockito.anyInt()))
+                .thenThrow(new IllegalArgumentException("Search query must be at least 2 characters"));
+
+        mockMvc.perform(get("/issues/search").param("q", "a"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query must be at least 2 characters"));
+    }
 }
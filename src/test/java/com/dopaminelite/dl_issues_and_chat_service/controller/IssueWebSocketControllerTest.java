@@ -6,13 +6,21 @@ import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessag
 import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEventPayload;
 import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketSendMessagePayload;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
 import com.dopaminelite.dl_issues_and_chat_service.service.IssueMessageService;
+import com.dopaminelite.dl_issues_and_chat_service.service.MessageReplayBuffer;
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketDrainCoordinator;
+import com.dopaminelite.dl_issues_and_chat_service.service.WebSocketSessionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.time.Instant;
@@ -20,6 +28,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +37,8 @@ class IssueWebSocketControllerTest {
 
     private SimpMessagingTemplate messagingTemplate;
     private IssueMessageService messageService;
+    private WebSocketDrainCoordinator drainCoordinator;
+    private SimpleMeterRegistry meterRegistry;
     private IssueWebSocketController controller;
 
     private ArgumentCaptor<Object> payloadCaptor;
@@ -36,7 +47,13 @@ class IssueWebSocketControllerTest {
     void setUp() {
         messagingTemplate = Mockito.mock(SimpMessagingTemplate.class);
         messageService = Mockito.mock(IssueMessageService.class);
-        controller = new IssueWebSocketController(messagingTemplate, messageService);
+        drainCoordinator = Mockito.mock(WebSocketDrainCoordinator.class);
+        meterRegistry = new SimpleMeterRegistry();
+        controller = new IssueWebSocketController(messagingTemplate, messageService,
+                new WebSocketSessionTracker(meterRegistry), drainCoordinator,
+                new MessageReplayBuffer(Mockito.mock(IssueMessageRepository.class),
+                        Mockito.mock(PlatformTransactionManager.class), 50, 100, 200),
+                Tracer.NOOP, meterRegistry);
         payloadCaptor = ArgumentCaptor.forClass(Object.class);
     }
 
@@ -80,6 +97,15 @@ class IssueWebSocketControllerTest {
         assertEquals(created.getId(), event.getId());
         assertEquals(created.getIssueId(), event.getIssueId());
         assertEquals(created.getContent(), event.getContent());
+
+        assertEquals(1, meterRegistry.get("chat.websocket.send").tag("phase", "persist").timer().count());
+        assertEquals(1, meterRegistry.get("chat.websocket.send").tag("phase", "broadcast").timer().count());
+        assertEquals(1, meterRegistry.get("chat.broadcast.fanout").summary().count());
+
+        InOrder inOrder = inOrder(drainCoordinator, messagingTemplate);
+        inOrder.verify(drainCoordinator).messageStarted();
+        inOrder.verify(messagingTemplate).convertAndSend(eq(expectedDestination), any(Object.class));
+        inOrder.verify(drainCoordinator).messageFinished();
     }
 
     @Test
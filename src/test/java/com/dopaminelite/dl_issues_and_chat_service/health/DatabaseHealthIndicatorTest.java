@@ -0,0 +1,55 @@
+package com.dopaminelite.dl_issues_and_chat_service.health;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseHealthIndicatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong now = new AtomicLong();
+    private DatabaseHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        indicator = new DatabaseHealthIndicator(jdbcTemplate, Duration.ofSeconds(5), now::get);
+    }
+
+    @Test
+    void health_isCachedWithinTtl() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        verify(jdbcTemplate, times(1)).queryForObject("SELECT 1", Integer.class);
+    }
+
+    @Test
+    void health_reprobesAfterTtl_andReportsFailure() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class))
+                .thenReturn(1)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        verify(jdbcTemplate, times(2)).queryForObject("SELECT 1", Integer.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dopaminelite.dl_issues_and_chat_service.logging;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void callerId_isPutInMdcAndEchoed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/issues");
+        request.addHeader(CorrelationIdFilter.HEADER, "req-42.a_b");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals("req-42.a_b", seen.get());
+        assertEquals("req-42.a_b", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void missingId_isGenerated() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/issues"), response, (req, res) -> {
+        });
+
+        assertDoesNotThrow(() -> UUID.fromString(response.getHeader(CorrelationIdFilter.HEADER)));
+    }
+
+    @Test
+    void unsafeOrLongIds_areReplaced() {
+        assertNotEquals("bad id\n", CorrelationIdFilter.correlationId("bad id\n"));
+        assertNotEquals("x".repeat(65), CorrelationIdFilter.correlationId("x".repeat(65)));
+        assertEquals("x".repeat(64), CorrelationIdFilter.correlationId("x".repeat(64)));
+    }
+}
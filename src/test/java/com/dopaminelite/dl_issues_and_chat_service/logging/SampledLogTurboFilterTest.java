@@ -0,0 +1,78 @@
+package com.dopaminelite.dl_issues_and_chat_service.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogTurboFilterTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        SampledLogTurboFilter filter = new SampledLogTurboFilter();
+        filter.setRate(10);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+
+        logger = context.getLogger("hot.path");
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void sampledDebugEvents_keepOneInRate() {
+        for (int i = 0; i < 100; i++) {
+            logger.debug(SampledLogTurboFilter.SAMPLED, "message {}", i);
+        }
+
+        assertEquals(10, appender.list.size());
+        assertEquals("message 0", appender.list.get(0).getFormattedMessage());
+        assertEquals("message 10", appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void templatesAreCountedSeparately() {
+        logger.debug(SampledLogTurboFilter.SAMPLED, "first {}", 1);
+        logger.debug(SampledLogTurboFilter.SAMPLED, "second {}", 2);
+
+        assertEquals(2, appender.list.size());
+    }
+
+    @Test
+    void unmarkedAndWarnEvents_areNotSampled() {
+        for (int i = 0; i < 20; i++) {
+            logger.debug("plain {}", i);
+            logger.warn(SampledLogTurboFilter.SAMPLED, "warning {}", i);
+        }
+
+        assertEquals(40, appender.list.size());
+    }
+
+    @Test
+    void disabledLevel_doesNotAdvanceTheCounter() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 5; i++) {
+            logger.debug(SampledLogTurboFilter.SAMPLED, "message {}", i);
+        }
+        assertTrue(appender.list.isEmpty());
+
+        logger.setLevel(Level.DEBUG);
+        logger.debug(SampledLogTurboFilter.SAMPLED, "message {}", 5);
+
+        assertEquals(1, appender.list.size());
+    }
+}
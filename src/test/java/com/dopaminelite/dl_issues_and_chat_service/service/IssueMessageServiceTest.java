@@ -4,7 +4,10 @@ import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueMessageListResponse;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessageCreatedEvent;
 import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +15,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -31,6 +36,12 @@ class IssueMessageServiceTest {
     @Mock
     private IssueMessageRepository issueMessageRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private IssueMessageService service;
 
@@ -79,6 +90,41 @@ class IssueMessageServiceTest {
         assertEquals("f1", captured.getAttachment().getFileId());
         assertNotNull(captured.getSenderId());
         assertEquals(Role.STUDENT, captured.getSenderRole());
+        verify(eventPublisher).publishEvent(new IssueMessageCreatedEvent(saved));
+    }
+
+    @Test
+    void createMessage_withAttachments_keepsAllInOrder() {
+        UploadedFileRef a1 = UploadedFileRef.builder().fileId("f1").build();
+        UploadedFileRef a2 = UploadedFileRef.builder().fileId("f2").build();
+        UploadedFileRef a3 = UploadedFileRef.builder().fileId("f3").build();
+        when(issueMessageRepository.save(any(IssueMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        IssueMessage result = service.createMessage(issueId, "three files", List.of(a1, a2, a3));
+
+        assertEquals(List.of("f1", "f2", "f3"), result.getAttachments().stream().map(UploadedFileRef::getFileId).toList());
+        assertEquals("f1", result.getAttachment().getFileId());
+    }
+
+    @Test
+    void createMessage_recordsLatencyByOutcome() {
+        when(issueMessageRepository.save(any(IssueMessage.class)))
+                .thenAnswer(inv -> inv.getArgument(0))
+                .thenThrow(new IllegalStateException("db down"));
+
+        service.createMessage(issueId, "ok", List.of());
+        assertThrows(IllegalStateException.class, () -> service.createMessage(issueId, "fails", List.of()));
+
+        assertEquals(1, meterRegistry.get("chat.message.create").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("chat.message.create").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void legacyMessage_withOnlyEmbeddedAttachment_exposesItInList() {
+        UploadedFileRef legacy = UploadedFileRef.builder().fileId("old").build();
+        IssueMessage message = IssueMessage.builder().issueId(issueId).content("c").attachment(legacy).build();
+
+        assertEquals(List.of(legacy), message.getAttachments());
     }
 
     @Test
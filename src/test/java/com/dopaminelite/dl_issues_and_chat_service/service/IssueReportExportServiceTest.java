@@ -0,0 +1,156 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.ReportExportFormat;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueReportExportRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IssueReportExportServiceTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
+    private ExecutorService executor;
+    private IssueReportExportService service;
+
+    private UUID studentId;
+    private Issue first;
+    private Issue second;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        service = new IssueReportExportService(issueRepository, issueMessageRepository, userServiceClient, messageArchiveService,
+                Tracer.NOOP, executor, 10);
+
+        studentId = UUID.randomUUID();
+        first = solvedIssue(1L);
+        second = solvedIssue(2L);
+
+        when(issueRepository.findForReportExport(eq(IssueStatus.SOLVED), any(), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 10), false));
+
+        IssueMessage message = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(first.getId())
+                .senderId(studentId)
+                .senderRole(Role.STUDENT)
+                .content("hello")
+                .createdAt(Instant.now())
+                .build();
+        when(issueMessageRepository.findByIssueIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(anyList(), any(Instant.class))).thenReturn(List.of(message));
+
+        UserInfo student = new UserInfo();
+        student.setId(studentId);
+        student.setFullName("Student");
+        when(userServiceClient.fetchUsersByIds(anyList())).thenReturn(Map.of(studentId, student));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void export_zip_writesOneEntryPerIssueWithSingleUserLookup() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(request(ReportExportFormat.ZIP), out);
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+                byte[] pdf = zip.readAllBytes();
+                assertEquals('%', (char) pdf[0]);
+            }
+        }
+
+        assertEquals(List.of("issue-1.pdf", "issue-2.pdf"), entries);
+        verify(userServiceClient, times(1)).fetchUsersByIds(anyList());
+        verify(issueMessageRepository, times(1)).findByIssueIdInAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void export_pdf_writesSingleMergedDocument() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(request(ReportExportFormat.PDF), out);
+
+        byte[] pdf = out.toByteArray();
+        assertTrue(pdf.length > 0);
+        assertEquals('%', (char) pdf[0]);
+        assertEquals('P', (char) pdf[1]);
+        verify(userServiceClient, times(1)).fetchUsersByIds(anyList());
+    }
+
+    private IssueReportExportRequest request(ReportExportFormat format) {
+        IssueReportExportRequest request = new IssueReportExportRequest();
+        request.setFrom(Instant.now().minus(7, ChronoUnit.DAYS));
+        request.setTo(Instant.now());
+        request.setFormat(format);
+        return request;
+    }
+
+    private Issue solvedIssue(long number) {
+        return Issue.builder()
+                .id(UUID.randomUUID())
+                .issueNumber(number)
+                .title("Issue " + number)
+                .description("d")
+                .studentId(studentId)
+                .status(IssueStatus.SOLVED)
+                .assignmentStatus(IssueAssignmentStatus.UNASSIGNED)
+                .isChatReadOnly(true)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .solvedAt(Instant.now())
+                .build();
+    }
+}
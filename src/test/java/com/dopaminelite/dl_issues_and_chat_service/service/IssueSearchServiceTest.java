@@ -0,0 +1,78 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSearchHit;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueSearchResponse;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IssueSearchServiceTest {
+
+    @Mock
+    private IssueSearchRepository issueSearchRepository;
+
+    @InjectMocks
+    private IssueSearchService service;
+
+    @Test
+    void search_tooShortQuery_throws() {
+        assertThrows(IllegalArgumentException.class, () -> service.search(" a ", null, 10));
+        verify(issueSearchRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void search_moreHitsThanLimit_returnsCursorForLastHit() {
+        List<IssueSearchHit> hits = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hits.add(IssueSearchHit.builder()
+                    .type("ISSUE")
+                    .issueId(UUID.randomUUID())
+                    .snippet("<mark>payment</mark> failed")
+                    .rank(1f - i * 0.1f)
+                    .build());
+        }
+        when(issueSearchRepository.search(eq("payment"), isNull(), eq(3))).thenReturn(hits);
+
+        IssueSearchResponse response = service.search("payment", null, 2);
+
+        assertEquals(2, response.getItems().size());
+        assertNotNull(response.getNextCursor());
+        IssueSearchRepository.Cursor cursor = IssueSearchService.decodeCursor(response.getNextCursor());
+        assertEquals(hits.get(1).getRank(), cursor.rank());
+        assertEquals(hits.get(1).getIssueId(), cursor.hitId());
+    }
+
+    @Test
+    void search_lastPage_hasNoCursor() {
+        when(issueSearchRepository.search(eq("refund"), isNull(), eq(11))).thenReturn(new ArrayList<>());
+
+        IssueSearchResponse response = service.search("refund", null, 10);
+
+        assertTrue(response.getItems().isEmpty());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void escapeSnippet_keepsOnlyMarkTags() {
+        assertEquals("<mark>pay</mark> &lt;script&gt;x&lt;/script&gt;",
+                IssueSearchService.escapeSnippet("<mark>pay</mark> <script>x</script>"));
+    }
+
+    @Test
+    void decodeCursor_invalid_throws() {
+        assertThrows(IllegalArgumentException.class, () -> IssueSearchService.decodeCursor("not-a-cursor"));
+    }
+}
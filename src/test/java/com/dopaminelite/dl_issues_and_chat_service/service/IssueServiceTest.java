@@ -3,10 +3,16 @@ package com.dopaminelite.dl_issues_and_chat_service.service;
 
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
 import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueCreateRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.IssueFilterRequest;
 import com.dopaminelite.dl_issues_and_chat_service.dto.IssueUpdateStatusRequest;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueNumberGenerator;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
 import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,9 +41,18 @@ class IssueServiceTest {
     @Mock
     private IssueRepository issueRepository;
 
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
     @Mock
     private IssueNumberGenerator issueNumberGenerator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
     @InjectMocks
     private IssueService issueService;
 
@@ -86,6 +103,7 @@ class IssueServiceTest {
         assertEquals(IssueStatus.OPEN, result.getStatus());
         assertEquals(IssueAssignmentStatus.UNASSIGNED, result.getAssignmentStatus());
         verify(issueRepository, times(1)).save(any(Issue.class));
+        verify(eventPublisher).publishEvent(new IssueCreatedEvent(saved));
     }
 
     @Test
@@ -219,5 +237,149 @@ class IssueServiceTest {
 
         assertThrows(RuntimeException.class, () -> issueService.updateIssueStatus(id, req));
     }
-}
 
+    @Test
+    void getIssueByNumber_isOneLookupByNumber() {
+        baseIssue.setIssueNumber(1042L);
+        when(issueRepository.findByIssueNumber(1042L)).thenReturn(Optional.of(baseIssue));
+
+        assertEquals(baseIssue.getId(), issueService.getIssueByNumber(1042L).orElseThrow().getId());
+
+        verify(issueRepository, times(1)).findByIssueNumber(1042L);
+        verify(issueRepository, never()).findById(any());
+    }
+
+    @Test
+    void getIssuesByNumbers_keepsRequestOrderAndSkipsUnknown() {
+        Issue first = Issue.builder().id(UUID.randomUUID()).issueNumber(1L).title("one").build();
+        Issue second = Issue.builder().id(UUID.randomUUID()).issueNumber(2L).title("two").build();
+        when(issueRepository.findByIssueNumberIn(Set.of(2L, 99L, 1L))).thenReturn(List.of(first, second));
+
+        List<Issue> result = issueService.getIssuesByNumbers(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(List.of(second, first), result);
+    }
+
+    @Test
+    void getIssuesByIds_keepsRequestOrder() {
+        Issue other = Issue.builder().id(UUID.randomUUID()).title("other").build();
+        when(issueRepository.findAllByIdIn(any(UUID[].class))).thenReturn(List.of(baseIssue, other));
+
+        List<Issue> result = issueService.getIssuesByIds(List.of(other.getId(), UUID.randomUUID(), baseIssue.getId()));
+
+        assertEquals(List.of(other, baseIssue), result);
+    }
+
+    @Test
+    void getIssueSummaries_studentFilterIgnoresAdminFilters() {
+        IssueFilterRequest filter = new IssueFilterRequest();
+        filter.setStudentId(UUID.randomUUID());
+        filter.setStatus(IssueStatus.OPEN);
+        filter.setAssignedAdminId(UUID.randomUUID());
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(issueRepository.findSummaries(filter.getStudentId(), IssueStatus.OPEN, null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        issueService.getIssueSummaries(filter, pageable);
+
+        verify(issueRepository).findSummaries(filter.getStudentId(), IssueStatus.OPEN, null, null, pageable);
+    }
+
+    @Test
+    void getAttachmentsByIssueIds_groupsRowsByIssue() {
+        UUID otherId = UUID.randomUUID();
+        UploadedFileRef a = UploadedFileRef.builder().fileId("a").build();
+        UploadedFileRef b = UploadedFileRef.builder().fileId("b").build();
+        UploadedFileRef c = UploadedFileRef.builder().fileId("c").build();
+        List<UUID> ids = List.of(baseIssue.getId(), otherId);
+        when(issueRepository.findAttachmentsByIssueIds(ids)).thenReturn(List.of(
+                new Object[]{baseIssue.getId(), a},
+                new Object[]{otherId, b},
+                new Object[]{baseIssue.getId(), c}));
+
+        var result = issueService.getAttachmentsByIssueIds(ids);
+
+        assertEquals(List.of(a, c), result.get(baseIssue.getId()));
+        assertEquals(List.of(b), result.get(otherId));
+        verify(issueRepository, times(1)).findAttachmentsByIssueIds(ids);
+    }
+
+    @Test
+    void getMessagesByIssueId_servesPreviewsWithAttachments() {
+        UUID issueId = baseIssue.getId();
+        PageRequest pageable = PageRequest.of(0, 10);
+        IssueMessage longMessage = new IssueMessage(UUID.randomUUID(), issueId, UUID.randomUUID(), Role.STUDENT,
+                "x".repeat(IssueMessage.PREVIEW_LENGTH), 5000, "f1", "log.txt", "text/plain", Instant.now());
+        IssueMessage shortMessage = new IssueMessage(UUID.randomUUID(), issueId, UUID.randomUUID(), Role.ADMIN,
+                "ok", 2, null, null, null, Instant.now());
+        when(messageArchiveService.findArchivedMessages(issueId)).thenReturn(Optional.empty());
+        when(issueMessageRepository.findPreviewsByIssueId(issueId, pageable))
+                .thenReturn(new PageImpl<>(List.of(longMessage, shortMessage), pageable, 2));
+        when(issueMessageRepository.findAttachmentsByMessageIds(any())).thenReturn(List.<Object[]>of(
+                new Object[]{longMessage.getId(), "f1", "log.txt", "text/plain"},
+                new Object[]{longMessage.getId(), "f2", "trace.txt", "text/plain"}));
+
+        var page = issueService.getMessagesByIssueId(issueId, pageable, true);
+
+        assertEquals(2, page.getTotalElements());
+        assertTrue(page.getContent().get(0).isContentTruncated());
+        assertEquals(List.of("f1", "f2"), page.getContent().get(0).getAttachments().stream()
+                .map(UploadedFileRef::getFileId).toList());
+        assertFalse(page.getContent().get(1).isContentTruncated());
+        assertTrue(page.getContent().get(1).getAttachments().isEmpty());
+        verify(issueMessageRepository, never()).findByIssueIdOrderByCreatedAtAsc(any(), any());
+    }
+
+    @Test
+    void getMessagesByIssueId_withoutPreview_servesFullContent() {
+        UUID issueId = baseIssue.getId();
+        PageRequest pageable = PageRequest.of(0, 10);
+        IssueMessage longMessage = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issueId)
+                .content("x".repeat(IssueMessage.PREVIEW_LENGTH * 2))
+                .createdAt(Instant.now())
+                .build();
+        when(messageArchiveService.findArchivedMessages(issueId)).thenReturn(Optional.empty());
+        when(issueMessageRepository.findByIssueIdOrderByCreatedAtAsc(issueId, pageable))
+                .thenReturn(new PageImpl<>(List.of(longMessage), pageable, 1));
+
+        var page = issueService.getMessagesByIssueId(issueId, pageable, false);
+
+        IssueMessage item = page.getContent().get(0);
+        assertFalse(item.isContentTruncated());
+        assertEquals(IssueMessage.PREVIEW_LENGTH * 2, item.getContent().length());
+        verify(issueMessageRepository, never()).findPreviewsByIssueId(any(), any());
+    }
+
+    @Test
+    void getMessagesByIssueId_archivedConversation_truncatesInMemory() {
+        UUID issueId = baseIssue.getId();
+        IssueMessage archived = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issueId)
+                .content("y".repeat(IssueMessage.PREVIEW_LENGTH + 1))
+                .createdAt(Instant.now())
+                .build();
+        when(messageArchiveService.findArchivedMessages(issueId)).thenReturn(Optional.of(List.of(archived)));
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(eq(issueId), any(Instant.class)))
+                .thenReturn(List.of());
+
+        var page = issueService.getMessagesByIssueId(issueId, PageRequest.of(0, 10), true);
+
+        IssueMessage item = page.getContent().get(0);
+        assertTrue(item.isContentTruncated());
+        assertEquals(IssueMessage.PREVIEW_LENGTH, item.getContent().length());
+        assertEquals(IssueMessage.PREVIEW_LENGTH + 1, archived.getContent().length());
+    }
+
+    @Test
+    void getMessage_otherIssue_fallsBackToArchive() {
+        UUID messageId = UUID.randomUUID();
+        IssueMessage other = IssueMessage.builder().id(messageId).issueId(UUID.randomUUID()).content("x").build();
+        when(issueMessageRepository.findById(messageId)).thenReturn(Optional.of(other));
+        when(messageArchiveService.findArchivedMessages(baseIssue.getId())).thenReturn(Optional.empty());
+
+        assertTrue(issueService.getMessage(baseIssue.getId(), messageId).isEmpty());
+    }
+}
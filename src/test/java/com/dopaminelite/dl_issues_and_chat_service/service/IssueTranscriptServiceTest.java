@@ -0,0 +1,105 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.client.UserServiceClient;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.constants.TranscriptFormat;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IssueTranscriptServiceTest {
+
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IssueTranscriptService service;
+    private Issue issue;
+
+    @BeforeEach
+    void setUp() {
+        service = new IssueTranscriptService(issueMessageRepository, userServiceClient, new ObjectMapper(),
+                entityManager, messageArchiveService, transactionManager);
+        issue = Issue.builder()
+                .id(UUID.randomUUID())
+                .issueNumber(7L)
+                .title("Refund")
+                .studentId(UUID.randomUUID())
+                .status(IssueStatus.SOLVED)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+        when(messageArchiveService.findArchivedMessages(issue.getId())).thenReturn(Optional.empty());
+        when(userServiceClient.fetchUsersByIds(anyList())).thenReturn(Map.of());
+    }
+
+    @Test
+    void writeTranscript_loadsAttachmentsOncePerBatchOfStreamedMessages() throws Exception {
+        List<IssueMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            messages.add(IssueMessage.builder()
+                    .id(UUID.randomUUID())
+                    .issueId(issue.getId())
+                    .senderId(issue.getStudentId())
+                    .senderRole(Role.STUDENT)
+                    .content("message " + i)
+                    .createdAt(issue.getCreatedAt().plusSeconds(i))
+                    .build());
+        }
+        UUID withFile = messages.get(120).getId();
+        when(issueMessageRepository.streamByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(eq(issue.getId()), any(Instant.class)))
+                .thenReturn(messages.stream());
+        when(issueMessageRepository.findAttachmentsByMessageIds(any()))
+                .thenAnswer(invocation -> {
+                    UUID[] ids = invocation.getArgument(0);
+                    return List.of(ids).contains(withFile)
+                            ? List.<Object[]>of(new Object[]{withFile, "f1", "receipt.pdf", "application/pdf"})
+                            : List.<Object[]>of();
+                });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeTranscript(issue, TranscriptFormat.TXT, out);
+
+        // 250 messages: batches of 100, 100 and 50
+        verify(issueMessageRepository, times(3)).findAttachmentsByMessageIds(any());
+        verify(entityManager, times(250)).detach(any(IssueMessage.class));
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("message 120 [attachment: receipt.pdf]\n"));
+        assertTrue(text.contains("message 249\n"));
+    }
+}
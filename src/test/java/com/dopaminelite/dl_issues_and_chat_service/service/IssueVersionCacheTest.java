@@ -0,0 +1,144 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessageCreatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessagesArchivedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueUpdatedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageArchiveRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IssueVersionCacheTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
+    @Mock
+    private IssueMessageArchiveRepository archiveRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private IssueVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IssueVersionCache(issueRepository, issueMessageRepository, archiveRepository,
+                Duration.ofSeconds(2), now::get);
+    }
+
+    @Test
+    void issueETag_isCachedUntilIssueUpdated() {
+        UUID id = UUID.randomUUID();
+        Instant first = Instant.parse("2025-01-01T00:00:00Z");
+        Instant second = first.plusSeconds(5);
+        when(issueRepository.findUpdatedAtById(id)).thenReturn(Optional.of(first), Optional.of(second));
+
+        assertEquals(Optional.of(IssueVersionCache.issueETag(first)), cache.issueETag(id));
+        assertEquals(Optional.of(IssueVersionCache.issueETag(first)), cache.issueETag(id));
+        verify(issueRepository, times(1)).findUpdatedAtById(id);
+
+        cache.onIssueUpdated(new IssueUpdatedEvent(Issue.builder().id(id).build()));
+
+        assertEquals(Optional.of(IssueVersionCache.issueETag(second)), cache.issueETag(id));
+    }
+
+    @Test
+    void issueETag_missingIssue_isEmptyAndNotCached() {
+        UUID id = UUID.randomUUID();
+        when(issueRepository.findUpdatedAtById(id)).thenReturn(Optional.empty());
+
+        assertTrue(cache.issueETag(id).isEmpty());
+        assertTrue(cache.issueETag(id).isEmpty());
+        verify(issueRepository, times(2)).findUpdatedAtById(id);
+    }
+
+    @Test
+    void messagesETag_changesAfterNewMessage() {
+        UUID issueId = UUID.randomUUID();
+        UUID lastId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        Instant since = IssueMessageRepository.earliestMessageTime(createdAt);
+        when(issueRepository.findCreatedAtById(issueId)).thenReturn(Optional.of(createdAt));
+        when(issueMessageRepository.countByIssueIdAndCreatedAtGreaterThanEqual(issueId, since)).thenReturn(2L, 3L);
+        when(issueMessageRepository.findLatestIdsByIssueId(eq(issueId), eq(since), any(Pageable.class)))
+                .thenReturn(List.of(lastId), List.of(newId));
+
+        String before = cache.messagesETag(issueId).orElseThrow();
+        assertEquals(IssueVersionCache.messagesETag(2, lastId), before);
+
+        cache.onMessageCreated(new IssueMessageCreatedEvent(IssueMessage.builder().id(newId).issueId(issueId).build()));
+
+        assertEquals(IssueVersionCache.messagesETag(3, newId), cache.messagesETag(issueId).orElseThrow());
+    }
+
+    @Test
+    void messagesETag_archivedConversationDiffersFromEmptyOne() {
+        UUID issueId = UUID.randomUUID();
+        Instant lastArchivedAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(issueRepository.findCreatedAtById(issueId)).thenReturn(Optional.of(lastArchivedAt.minusSeconds(60)));
+        IssueMessageArchiveRepository.ArchiveVersion archived = mock(IssueMessageArchiveRepository.ArchiveVersion.class);
+        when(archived.getMessageCount()).thenReturn(2);
+        when(archived.getLastMessageAt()).thenReturn(lastArchivedAt);
+        when(archiveRepository.findVersionByIssueId(issueId)).thenReturn(Optional.empty(), Optional.of(archived));
+        when(issueMessageRepository.countByIssueIdAndCreatedAtGreaterThanEqual(eq(issueId), any(Instant.class))).thenReturn(0L);
+
+        String empty = cache.messagesETag(issueId).orElseThrow();
+        assertEquals(IssueVersionCache.messagesETag(0, null), empty);
+
+        cache.onMessagesArchived(new IssueMessagesArchivedEvent(issueId));
+
+        String afterArchive = cache.messagesETag(issueId).orElseThrow();
+        assertEquals(IssueVersionCache.messagesETag(2, lastArchivedAt, 0, null), afterArchive);
+        assertNotEquals(empty, afterArchive);
+    }
+
+    @Test
+    void messagesETag_missingIssue_isEmptyAndSkipsMessageProbes() {
+        UUID issueId = UUID.randomUUID();
+        when(issueRepository.findCreatedAtById(issueId)).thenReturn(Optional.empty());
+
+        assertTrue(cache.messagesETag(issueId).isEmpty());
+        verifyNoInteractions(issueMessageRepository, archiveRepository);
+    }
+
+    @Test
+    void issueETag_isReprobedAfterTtlWithoutLocalEvent() {
+        UUID id = UUID.randomUUID();
+        Instant first = Instant.parse("2025-01-01T00:00:00Z");
+        Instant second = first.plusSeconds(5);
+        when(issueRepository.findUpdatedAtById(id)).thenReturn(Optional.of(first), Optional.of(second));
+
+        assertEquals(Optional.of(IssueVersionCache.issueETag(first)), cache.issueETag(id));
+        now.addAndGet(Duration.ofMillis(1999).toNanos());
+        assertEquals(Optional.of(IssueVersionCache.issueETag(first)), cache.issueETag(id));
+
+        // Updated through another instance: only the TTL makes this one notice
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        assertEquals(Optional.of(IssueVersionCache.issueETag(second)), cache.issueETag(id));
+        verify(issueRepository, times(2)).findUpdatedAtById(id);
+    }
+}
@@ -0,0 +1,173 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.MessageArchiveReport;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessageArchive;
+import com.dopaminelite.dl_issues_and_chat_service.event.IssueMessagesArchivedEvent;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageArchiveRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageArchiveServiceTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
+    @Mock
+    private IssueMessageArchiveRepository archiveRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MessageArchiveService service;
+
+    private Issue issue;
+    private List<IssueMessage> messages;
+
+    @BeforeEach
+    void setUp() {
+        service = new MessageArchiveService(issueRepository, issueMessageRepository, archiveRepository,
+                new ObjectMapper().findAndRegisterModules(), eventPublisher, transactionManager, 90, 50, true);
+
+        Instant createdAt = Instant.now().minus(200, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        issue = Issue.builder()
+                .id(UUID.randomUUID())
+                .issueNumber(1L)
+                .studentId(UUID.randomUUID())
+                .status(IssueStatus.SOLVED)
+                .createdAt(createdAt)
+                .solvedAt(createdAt.plus(1, ChronoUnit.DAYS))
+                .build();
+
+        UploadedFileRef file = UploadedFileRef.builder().fileId("f1").fileName("a.png").fileType("image/png").build();
+        messages = List.of(
+                message(createdAt.plusSeconds(60), Role.STUDENT, "hello", new ArrayList<>(List.of(file))),
+                message(createdAt.plusSeconds(120), Role.ADMIN, "hi", new ArrayList<>())
+        );
+        lenient().when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(eq(issue.getId()), any(Instant.class)))
+                .thenReturn(messages);
+    }
+
+    @Test
+    void archiveIssue_storesCompressedConversationAndDeletesOnlyArchivedRows() {
+        IssueMessageArchive archive = service.archiveIssue(issue).archive();
+
+        assertEquals(issue.getId(), archive.getIssueId());
+        assertEquals(2, archive.getMessageCount());
+        assertEquals(messages.get(0).getCreatedAt(), archive.getFirstMessageAt());
+        assertEquals(messages.get(1).getCreatedAt(), archive.getLastMessageAt());
+        assertTrue(archive.getRawBytes() > 0);
+        verify(archiveRepository).save(archive);
+        List<UUID> archivedIds = messages.stream().map(IssueMessage::getId).toList();
+        verify(issueMessageRepository).deleteAttachmentsByMessageIds(archivedIds);
+        verify(issueMessageRepository).deleteArchived(eq(issue.getId()), any(Instant.class), eq(archivedIds));
+    }
+
+    @Test
+    void archiveIssue_mergesMessagesPostedAfterEarlierArchive() {
+        IssueMessageArchive earlier = service.archiveIssue(issue).archive();
+        when(archiveRepository.findById(issue.getId())).thenReturn(Optional.of(earlier));
+        IssueMessage late = message(messages.get(1).getCreatedAt().plusSeconds(60), Role.STUDENT, "one more", new ArrayList<>());
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(eq(issue.getId()), any(Instant.class)))
+                .thenReturn(List.of(late));
+
+        MessageArchiveService.ArchiveResult result = service.archiveIssue(issue);
+
+        assertEquals(1, result.messagesMoved());
+        assertEquals(3, result.archive().getMessageCount());
+        assertEquals(late.getCreatedAt(), result.archive().getLastMessageAt());
+        List<IssueMessage> restored = service.decode(result.archive());
+        assertEquals(List.of("hello", "hi", "one more"), restored.stream().map(IssueMessage::getContent).toList());
+        verify(issueMessageRepository).deleteArchived(eq(issue.getId()), any(Instant.class), eq(List.of(late.getId())));
+    }
+
+    @Test
+    void findArchivedMessages_decodesArchivedConversationInOrder() {
+        IssueMessageArchive archive = service.archiveIssue(issue).archive();
+        when(archiveRepository.findById(issue.getId())).thenReturn(Optional.of(archive));
+
+        List<IssueMessage> restored = service.findArchivedMessages(issue.getId()).orElseThrow();
+
+        assertEquals(2, restored.size());
+        IssueMessage first = restored.get(0);
+        assertEquals(messages.get(0).getId(), first.getId());
+        assertEquals(issue.getId(), first.getIssueId());
+        assertEquals(Role.STUDENT, first.getSenderRole());
+        assertEquals("hello", first.getContent());
+        assertEquals(messages.get(0).getCreatedAt(), first.getCreatedAt());
+        assertEquals(1, first.getAttachments().size());
+        assertEquals("f1", first.getAttachment().getFileId());
+        assertEquals("hi", restored.get(1).getContent());
+        assertTrue(restored.get(1).getAttachments().isEmpty());
+    }
+
+    @Test
+    void findArchivedMessages_returnsEmptyWhenNotArchived() {
+        when(archiveRepository.findById(issue.getId())).thenReturn(Optional.empty());
+
+        assertTrue(service.findArchivedMessages(issue.getId()).isEmpty());
+    }
+
+    @Test
+    void archiveSolvedConversations_reportsSizes() {
+        when(issueRepository.findArchivable(eq(IssueStatus.SOLVED), any(Instant.class), any()))
+                .thenReturn(List.of(issue));
+        when(issueMessageRepository.hotTableBytes()).thenReturn(8192L, 4096L);
+
+        MessageArchiveReport report = service.archiveSolvedConversations();
+
+        assertEquals(1, report.getIssuesArchived());
+        assertEquals(2, report.getMessagesArchived());
+        assertEquals(8192L, report.getHotTableBytesBefore());
+        assertEquals(4096L, report.getHotTableBytesAfter());
+        ArgumentCaptor<IssueMessageArchive> saved = ArgumentCaptor.forClass(IssueMessageArchive.class);
+        verify(archiveRepository).save(saved.capture());
+        assertEquals(saved.getValue().getPayload().length, report.getCompressedBytes());
+        verify(eventPublisher).publishEvent(new IssueMessagesArchivedEvent(issue.getId()));
+    }
+
+    private IssueMessage message(Instant createdAt, Role role, String content, List<UploadedFileRef> attachments) {
+        return IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issue.getId())
+                .senderId(UUID.randomUUID())
+                .senderRole(role)
+                .content(content)
+                .createdAt(createdAt)
+                .attachment(attachments.isEmpty() ? null : attachments.get(0))
+                .attachments(attachments)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEnvelope;
+import com.dopaminelite.dl_issues_and_chat_service.dto.websocket.WebSocketMessageEventPayload;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.repository.IssueMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageReplayBufferTest {
+
+    @Mock
+    private IssueMessageRepository issueMessageRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MessageReplayBuffer buffer;
+    private UUID issueId;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new MessageReplayBuffer(issueMessageRepository, transactionManager, 3, 100, 5);
+        issueId = UUID.randomUUID();
+    }
+
+    @Test
+    void publish_runsSendAndMissedSinceIdReplaysLaterMessagesFromRing() {
+        AtomicInteger sends = new AtomicInteger();
+        List<IssueMessage> messages = publish(3, sends);
+
+        MessageReplayBuffer.Replay replay = replay(messages.get(0).getId(), null);
+
+        assertEquals(3, sends.get());
+        assertEquals(List.of(messages.get(1).getId(), messages.get(2).getId()), ids(replay));
+        assertFalse(replay.truncated());
+        verifyNoInteractions(issueMessageRepository);
+    }
+
+    @Test
+    void missedSince_timestampOnly_readsDatabaseEvenWhenRingCoversIt() {
+        List<IssueMessage> messages = publish(3, new AtomicInteger());
+        Instant since = messages.get(1).getCreatedAt();
+        // Posted through another node, so never in this node's ring
+        IssueMessage remote = message(since.plusNanos(1));
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                eq(issueId), eq(since), any(Pageable.class)))
+                .thenReturn(List.of(messages.get(1), remote, messages.get(2)));
+
+        MessageReplayBuffer.Replay replay = replay(null, since);
+
+        assertEquals(List.of(remote.getId(), messages.get(2).getId()), ids(replay));
+    }
+
+    @Test
+    void missedSince_idNotInRing_mergesDatabaseRowsWithLaterLocalBroadcasts() {
+        IssueMessage seen = message(Instant.now());
+        IssueMessage remote = message(seen.getCreatedAt().plusMillis(1));
+        when(issueMessageRepository.findCreatedAtByIdAndIssueId(seen.getId(), issueId))
+                .thenReturn(Optional.of(seen.getCreatedAt()));
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                eq(issueId), eq(seen.getCreatedAt()), any(Pageable.class)))
+                .thenReturn(List.of(seen, remote));
+
+        MessageReplayBuffer.Pending pending = buffer.prepare(issueId, seen.getId(), null);
+        // Broadcast by this node after the database read, before the subscription registered
+        List<IssueMessage> local = publish(1, new AtomicInteger());
+        MessageReplayBuffer.Replay replay = buffer.missedSince(pending);
+
+        assertEquals(List.of(remote.getId(), local.get(0).getId()), ids(replay));
+        assertFalse(replay.truncated());
+    }
+
+    @Test
+    void missedSince_idEvictedFromRing_readsGapFromDatabase() {
+        List<IssueMessage> messages = publish(5, new AtomicInteger());
+        IssueMessage evicted = messages.get(0);
+        when(issueMessageRepository.findCreatedAtByIdAndIssueId(evicted.getId(), issueId))
+                .thenReturn(Optional.of(evicted.getCreatedAt()));
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                eq(issueId), eq(evicted.getCreatedAt()), any(Pageable.class)))
+                .thenReturn(messages);
+
+        MessageReplayBuffer.Replay replay = replay(evicted.getId(), null);
+
+        assertEquals(messages.subList(1, 5).stream().map(IssueMessage::getId).toList(), ids(replay));
+        assertFalse(replay.truncated());
+    }
+
+    @Test
+    void missedSince_unknownId_replaysNothing() {
+        UUID unknown = UUID.randomUUID();
+        when(issueMessageRepository.findCreatedAtByIdAndIssueId(unknown, issueId)).thenReturn(Optional.empty());
+
+        MessageReplayBuffer.Replay replay = replay(unknown, null);
+
+        assertTrue(replay.envelopes().isEmpty());
+        assertFalse(replay.truncated());
+    }
+
+    @Test
+    void missedSince_gapLongerThanLimit_isTruncated() {
+        Instant since = Instant.now().minusSeconds(3600);
+        List<IssueMessage> stored = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            stored.add(message(since.plusSeconds(i)));
+        }
+        when(issueMessageRepository.findByIssueIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                eq(issueId), eq(since), any(Pageable.class)))
+                .thenReturn(stored);
+
+        MessageReplayBuffer.Replay replay = replay(null, since);
+
+        assertEquals(stored.subList(0, 5).stream().map(IssueMessage::getId).toList(), ids(replay));
+        assertTrue(replay.truncated());
+    }
+
+    private MessageReplayBuffer.Replay replay(UUID lastSeenId, Instant lastSeenAt) {
+        return buffer.missedSince(buffer.prepare(issueId, lastSeenId, lastSeenAt));
+    }
+
+    private List<IssueMessage> publish(int count, AtomicInteger sends) {
+        Instant base = Instant.now().plusSeconds(1);
+        List<IssueMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            IssueMessage message = message(base.plusMillis(i));
+            messages.add(message);
+            buffer.publish(issueId, new WebSocketMessageEventPayload(message), MessageReplayBuffer.envelope(message),
+                    sends::incrementAndGet);
+        }
+        return messages;
+    }
+
+    private IssueMessage message(Instant createdAt) {
+        return IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issueId)
+                .senderId(UUID.randomUUID())
+                .senderRole(Role.STUDENT)
+                .content("hello")
+                .createdAt(createdAt)
+                .attachments(List.of())
+                .build();
+    }
+
+    private static List<UUID> ids(MessageReplayBuffer.Replay replay) {
+        return replay.envelopes().stream()
+                .map(WebSocketMessageEnvelope::getPayload)
+                .map(payload -> ((WebSocketMessageEventPayload) payload).getId())
+                .toList();
+    }
+}
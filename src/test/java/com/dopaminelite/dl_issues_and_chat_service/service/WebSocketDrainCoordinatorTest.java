@@ -0,0 +1,101 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketDrainCoordinatorTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ApplicationAvailability availability;
+
+    @Mock
+    private ObjectProvider<ThreadPoolTaskExecutor> inboundExecutor;
+
+    @Mock
+    private ObjectProvider<ThreadPoolTaskExecutor> outboundExecutor;
+
+    private WebSocketDrainCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new WebSocketDrainCoordinator(eventPublisher, availability, inboundExecutor, outboundExecutor,
+                2, 10, 100, 200, 2000);
+    }
+
+    @Test
+    void drain_refusesTrafficAndClosesEverySessionWithReconnectHint() throws Exception {
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            WebSocketSession session = session("s" + i);
+            sessions.add(session);
+            coordinator.sessionOpened(session);
+        }
+
+        coordinator.drain();
+
+        verify(eventPublisher).publishEvent(any(AvailabilityChangeEvent.class));
+        assertFalse(coordinator.acceptingSessions());
+        assertEquals(0, coordinator.openSessions());
+        ArgumentCaptor<CloseStatus> status = ArgumentCaptor.forClass(CloseStatus.class);
+        for (WebSocketSession session : sessions) {
+            verify(session).close(status.capture());
+            assertEquals(CloseStatus.SERVICE_RESTARTED.getCode(), status.getValue().getCode());
+            long hint = Long.parseLong(status.getValue().getReason().replace("reconnect-after-ms=", ""));
+            assertTrue(hint >= 100 && hint <= 200);
+        }
+    }
+
+    @Test
+    void drain_waitsForInFlightSends() throws Exception {
+        WebSocketSession session = session("s1");
+        coordinator.sessionOpened(session);
+        coordinator.messageStarted();
+
+        CompletableFuture<Void> drain = CompletableFuture.runAsync(coordinator::drain);
+        Thread.sleep(200);
+        verify(session, never()).close(any(CloseStatus.class));
+
+        coordinator.messageFinished();
+        drain.get(5, TimeUnit.SECONDS);
+        verify(session).close(any(CloseStatus.class));
+    }
+
+    @Test
+    void acceptingSessions_falseWhileReadinessIsOff() {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+
+        assertFalse(coordinator.acceptingSessions());
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dopaminelite.dl_issues_and_chat_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketSessionTrackerTest {
+
+    private static final String TOPIC = "/topic/issues/1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketSessionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new WebSocketSessionTracker(meterRegistry);
+    }
+
+    @Test
+    void subscribeAndUnsubscribe_updateCountsAndGauges() {
+        tracker.onConnected(new SessionConnectedEvent(this, stomp(StompCommand.CONNECTED, "s1", null, null)));
+        tracker.onConnected(new SessionConnectedEvent(this, stomp(StompCommand.CONNECTED, "s2", null, null)));
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-0", TOPIC)));
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s2", "sub-0", TOPIC)));
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s2", "sub-1", "/topic/issues/2")));
+
+        assertEquals(2, tracker.sessionCount());
+        assertEquals(3, tracker.subscriptionCount());
+        assertEquals(2, tracker.subscriberCount(TOPIC));
+        assertEquals(3.0, meterRegistry.get("chat.websocket.subscriptions").gauge().value());
+
+        tracker.onUnsubscribe(new SessionUnsubscribeEvent(this, stomp(StompCommand.UNSUBSCRIBE, "s1", "sub-0", null)));
+
+        assertEquals(1, tracker.subscriberCount(TOPIC));
+        assertEquals(2, tracker.subscriptionCount());
+    }
+
+    @Test
+    void disconnect_releasesAllSubscriptionsOfTheSession() {
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-0", TOPIC)));
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-1", "/topic/issues/2")));
+
+        tracker.onDisconnect(new SessionDisconnectEvent(this, stomp(StompCommand.DISCONNECT, "s1", null, null), "s1", CloseStatus.NORMAL));
+
+        assertEquals(0, tracker.sessionCount());
+        assertEquals(0, tracker.subscriptionCount());
+        assertEquals(0, tracker.subscriberCount(TOPIC));
+        assertEquals(0.0, meterRegistry.get("chat.websocket.destinations").gauge().value());
+    }
+
+    @Test
+    void duplicateSubscribe_isCountedOnce() {
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-0", TOPIC)));
+        tracker.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-0", TOPIC)));
+
+        assertEquals(1, tracker.subscriptionCount());
+        assertEquals(1, tracker.subscriberCount(TOPIC));
+    }
+
+    private static Message<byte[]> stomp(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(command);
+        headers.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            headers.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            headers.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,58 @@
+package com.dopaminelite.dl_issues_and_chat_service.tracing;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+import java.util.List;
+
+/**
+ * The Micrometer OpenTelemetry bridge wired to an in-memory exporter, so tests can assert on
+ * the spans that production code finishes.
+ */
+public final class InMemoryTracing {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public InMemoryTracing() {
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("test");
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        this.tracer = new OtelTracer(otelTracer, currentTraceContext, event -> {
+        }, new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        this.propagator = new OtelPropagator(
+                ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+    }
+
+    public Tracer tracer() {
+        return tracer;
+    }
+
+    public Propagator propagator() {
+        return propagator;
+    }
+
+    public List<SpanData> finishedSpans() {
+        return exporter.getFinishedSpanItems();
+    }
+
+    public SpanData span(String name) {
+        return finishedSpans().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No finished span named " + name + " in " + finishedSpans()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private static InvertedIndex<String> newIndex(long maxBytes) {
+        return new InvertedIndex<>(maxBytes, String::length);
+    }
+
+    @Test
+    public void tokenize_lowercasesAndSplitsOnPunctuation() {
+        assertEquals(List.of("login", "fails", "on", "ios", "17"), InvertedIndex.tokenize("Login fails on iOS-17!"));
+    }
+
+    @Test
+    public void tokenize_keepsSinhalaVowelSignsInsideWord() {
+        assertEquals(List.of("ගැටළුව", "issue"), InvertedIndex.tokenize("ගැටළුව issue"));
+    }
+
+    @Test
+    public void search_lastTokenMatchesAsPrefix() {
+        InvertedIndex<String> index = newIndex(Long.MAX_VALUE);
+        index.add(1, "payment", "Payment not received", false);
+        index.add(2, "password", "Password reset", false);
+        index.add(3, "video", "Video not loading", false);
+
+        assertEquals(List.of("password", "payment"), index.search("pa", 10));
+        assertEquals(List.of("payment"), index.search("payment not rec", 10));
+        assertEquals(List.of("video", "payment"), index.search("not", 10));
+        assertTrue(index.search("reset video", 10).isEmpty());
+    }
+
+    @Test
+    public void add_duplicateKey_isIgnored() {
+        InvertedIndex<String> index = newIndex(Long.MAX_VALUE);
+        assertTrue(index.add("k", "first", "alpha", false));
+        assertFalse(index.add("k", "second", "alpha", false));
+
+        assertEquals(List.of("first"), index.search("alpha", 10));
+        assertEquals(1, index.stats().documents());
+    }
+
+    @Test
+    public void remove_hidesDocumentAndPurgesTerms() {
+        InvertedIndex<String> index = newIndex(Long.MAX_VALUE);
+        index.add(1, "a", "alpha", false);
+        index.add(2, "b", "beta", false);
+
+        index.remove(1);
+
+        assertTrue(index.search("alpha", 10).isEmpty());
+        assertEquals(List.of("b"), index.search("beta", 10));
+        assertEquals(1, index.stats().terms());
+    }
+
+    @Test
+    public void add_overBudget_evictsOldestEvictableDocuments() {
+        InvertedIndex<String> index = newIndex(2_000);
+        index.add("issue", "issue", "pinned", false);
+        for (int i = 0; i < 50; i++) {
+            index.add(i, "m" + i, "message number" + i, true);
+        }
+
+        InvertedIndex.Stats stats = index.stats();
+        assertTrue(stats.estimatedBytes() <= 2_000);
+        assertTrue(stats.evictedDocuments() > 0);
+        assertEquals(List.of("issue"), index.search("pinned", 10));
+        assertEquals(List.of("m49"), index.search("number49", 10));
+        assertTrue(index.search("number0", 10).isEmpty());
+    }
+
+    @Test
+    public void remove_churn_compactsDocIdsAndKeepsNewestFirst() {
+        InvertedIndex<String> index = newIndex(Long.MAX_VALUE);
+        index.add("old", "old", "shared", false);
+        long baseline = index.stats().estimatedBytes();
+        for (int i = 0; i < 1_000; i++) {
+            index.add(i, "m" + i, "temp" + i, false);
+            index.remove(i);
+        }
+        index.add("new", "new", "shared", false);
+        index.remove("old");
+        index.add("old", "old again", "shared", false);
+
+        assertTrue(index.docSlots() <= 4);
+        assertEquals(List.of("old again", "new"), index.search("shared", 10));
+        assertEquals(2, index.stats().documents());
+        assertEquals(1, index.stats().terms());
+        assertTrue(index.stats().estimatedBytes() < 3 * baseline);
+    }
+
+    @Test
+    public void add_overBudgetWithNothingEvictable_countsInsteadOfPurging() {
+        InvertedIndex<String> index = newIndex(500);
+        for (int i = 0; i < 10; i++) {
+            index.add(i, "issue" + i, "pinned number" + i, false);
+        }
+
+        InvertedIndex.Stats stats = index.stats();
+        assertTrue(stats.estimatedBytes() > 500);
+        assertEquals(0, stats.evictedDocuments());
+        assertTrue(stats.overBudgetAdds() > 0);
+        assertEquals(10, stats.documents());
+        assertEquals(List.of("issue9"), index.search("number9", 10));
+    }
+}
@@ -6,6 +6,10 @@ import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
 import com.dopaminelite.dl_issues_and_chat_service.dto.UserInfo;
 import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
 import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.dopaminelite.dl_issues_and_chat_service.tracing.InMemoryTracing;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
@@ -149,5 +153,81 @@ public class PdfGeneratorTest {
         assertNotNull(pdfBytes);
         assertTrue(pdfBytes.length > 0);
     }
-}
 
+    @Test
+    public void testGenerateReportWithTamilAndEmoji() {
+        UUID issueId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+
+        Issue issue = Issue.builder()
+                .id(issueId)
+                .issueNumber(77L)
+                .title("Mixed scripts: வணக்கம் ආයුබෝවන්")
+                .description("Emoji 👍 and Sinhala ස්තූතියි")
+                .studentId(studentId)
+                .status(IssueStatus.SOLVED)
+                .assignmentStatus(IssueAssignmentStatus.UNASSIGNED)
+                .isChatReadOnly(true)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+
+        IssueMessage message = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issueId)
+                .senderId(studentId)
+                .senderRole(Role.STUDENT)
+                .content("நன்றி 🙏 ශ්\u200Dරී ලංකාව, 2 වන දින!")
+                .createdAt(Instant.now())
+                .build();
+
+        byte[] pdfBytes = PdfGenerator.generateIssueReport(issue, Collections.singletonList(message), new HashMap<>());
+
+        assertNotNull(pdfBytes);
+        assertTrue(pdfBytes.length > 0);
+    }
+
+    @Test
+    public void testGenerateReportRecordsStageSpans() {
+        InMemoryTracing tracing = new InMemoryTracing();
+        UUID issueId = UUID.randomUUID();
+        UUID studentId = UUID.randomUUID();
+
+        Issue issue = Issue.builder()
+                .id(issueId)
+                .issueNumber(5L)
+                .title("Traced")
+                .description("Test")
+                .studentId(studentId)
+                .status(IssueStatus.SOLVED)
+                .assignmentStatus(IssueAssignmentStatus.UNASSIGNED)
+                .isChatReadOnly(true)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+
+        IssueMessage message = IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issueId)
+                .senderId(studentId)
+                .senderRole(Role.STUDENT)
+                .content("Hello")
+                .createdAt(Instant.now())
+                .build();
+
+        Span request = tracing.tracer().nextSpan().name("request").start();
+        try (Tracer.SpanInScope ignored = tracing.tracer().withSpan(request)) {
+            PdfGenerator.generateIssueReport(issue, List.of(message), new HashMap<>(), tracing.tracer());
+        } finally {
+            request.end();
+        }
+
+        SpanData render = tracing.span("report.pdf.render");
+        assertEquals(request.context().spanId(), render.getParentSpanId());
+        for (String stage : List.of("report.pdf.details", "report.pdf.conversation", "report.pdf.write")) {
+            SpanData span = tracing.span(stage);
+            assertEquals(render.getSpanId(), span.getParentSpanId(), stage);
+            assertEquals(render.getTraceId(), span.getTraceId(), stage);
+        }
+    }
+}
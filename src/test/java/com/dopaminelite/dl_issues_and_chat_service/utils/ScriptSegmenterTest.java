@@ -0,0 +1,82 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import com.dopaminelite.dl_issues_and_chat_service.utils.ScriptSegmenter.Run;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScriptSegmenterTest {
+
+    @Test
+    public void segment_nullOrEmpty_returnsNoRuns() {
+        assertTrue(ScriptSegmenter.segment(null).isEmpty());
+        assertTrue(ScriptSegmenter.segment("").isEmpty());
+    }
+
+    @Test
+    public void segment_latinOnly_returnsSingleLatinRun() {
+        assertEquals(List.of(new Run(0, 11, false)), ScriptSegmenter.segment("Hello world"));
+    }
+
+    @Test
+    public void segment_sinhalaWithSpaces_returnsSingleSinhalaRun() {
+        String text = "මගේ ගැටළුව";
+        assertEquals(List.of(new Run(0, text.length(), true)), ScriptSegmenter.segment(text));
+    }
+
+    @Test
+    public void segment_punctuationStaysWithPrecedingRun() {
+        String text = "Title: මගේ ගැටළුව";
+        assertEquals(List.of(
+                new Run(0, 7, false),
+                new Run(7, text.length(), true)
+        ), ScriptSegmenter.segment(text));
+    }
+
+    @Test
+    public void segment_leadingDigitsJoinFirstScriptRun() {
+        String text = "2 වන දින.";
+        assertEquals(List.of(new Run(0, text.length(), true)), ScriptSegmenter.segment(text));
+    }
+
+    @Test
+    public void segment_zeroWidthJoinerKeepsSinhalaConjunctTogether() {
+        // ශ්\u200Dරී uses ZWJ (U+200D) to form the rakaransaya conjunct
+        String text = "ශ්\u200Dරී ලංකාව";
+        assertEquals(List.of(new Run(0, text.length(), true)), ScriptSegmenter.segment(text));
+    }
+
+    @Test
+    public void segment_tamilFallsBackToLatinRun() {
+        String text = "வணக்கம் Hello";
+        assertEquals(List.of(new Run(0, text.length(), false)), ScriptSegmenter.segment(text));
+    }
+
+    @Test
+    public void segment_emojiSurrogatePairIsNotSplit() {
+        String text = "Thanks 👍 ස්තූතියි";
+        List<Run> runs = ScriptSegmenter.segment(text);
+
+        assertEquals(List.of(
+                new Run(0, 10, false),
+                new Run(10, text.length(), true)
+        ), runs);
+        assertEquals("Thanks 👍 ", text.substring(runs.get(0).start(), runs.get(0).end()));
+    }
+
+    @Test
+    public void segment_alternatingScripts_emitsRunPerScriptChange() {
+        String text = "Hi ආයුබෝවන් and ස්තූතියි!";
+        List<Run> runs = ScriptSegmenter.segment(text);
+
+        assertEquals(4, runs.size());
+        assertEquals("Hi ", text.substring(runs.get(0).start(), runs.get(0).end()));
+        assertEquals("ආයුබෝවන් ", text.substring(runs.get(1).start(), runs.get(1).end()));
+        assertEquals("and ", text.substring(runs.get(2).start(), runs.get(2).end()));
+        assertEquals("ස්තූතියි!", text.substring(runs.get(3).start(), runs.get(3).end()));
+        assertTrue(runs.get(1).sinhala());
+        assertFalse(runs.get(2).sinhala());
+    }
+}
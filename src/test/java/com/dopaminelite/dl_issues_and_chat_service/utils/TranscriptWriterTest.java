@@ -0,0 +1,120 @@
+package com.dopaminelite.dl_issues_and_chat_service.utils;
+
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueAssignmentStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.IssueStatus;
+import com.dopaminelite.dl_issues_and_chat_service.constants.Role;
+import com.dopaminelite.dl_issues_and_chat_service.constants.TranscriptFormat;
+import com.dopaminelite.dl_issues_and_chat_service.dto.UploadedFileRef;
+import com.dopaminelite.dl_issues_and_chat_service.entity.Issue;
+import com.dopaminelite.dl_issues_and_chat_service.entity.IssueMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscriptWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Issue issue = Issue.builder()
+            .id(UUID.randomUUID())
+            .issueNumber(1042L)
+            .title("Payment <issue>")
+            .description("d")
+            .studentId(UUID.randomUUID())
+            .status(IssueStatus.SOLVED)
+            .assignmentStatus(IssueAssignmentStatus.UNASSIGNED)
+            .createdAt(Instant.parse("2025-01-01T04:30:00Z"))
+            .updatedAt(Instant.parse("2025-01-01T04:30:00Z"))
+            .build();
+
+    private final List<IssueMessage> messages = List.of(
+            message(Role.STUDENT, "මගේ ගෙවීම <b>twice</b>", "2025-01-01T04:30:00Z"),
+            message(Role.ADMIN, "Refunded \"today\"", "2025-01-01T05:00:00Z")
+    );
+
+    @Test
+    public void plainText_writesOneLinePerMessage() throws Exception {
+        String text = write(TranscriptFormat.TXT);
+
+        assertTrue(text.startsWith("Issue No. 1042 - Payment <issue>\n"));
+        assertTrue(text.contains("[2025-01-01 10:00:00] Student (STUDENT): මගේ ගෙවීම <b>twice</b>\n"));
+        assertTrue(text.contains("[2025-01-01 10:30:00] Admin (ADMIN): Refunded \"today\"\n"));
+    }
+
+    @Test
+    public void html_escapesContent() throws Exception {
+        String html = write(TranscriptFormat.HTML);
+
+        assertTrue(html.contains("<title>Issue No. 1042 - Payment &lt;issue&gt;</title>"));
+        assertTrue(html.contains("මගේ ගෙවීම &lt;b&gt;twice&lt;/b&gt;"));
+        assertTrue(html.endsWith("</ol>\n</body></html>\n"));
+    }
+
+    @Test
+    public void jsonLines_writesOneObjectPerLine() throws Exception {
+        String jsonl = write(TranscriptFormat.JSONL);
+
+        String[] lines = jsonl.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Student", first.get("senderName").asText());
+        assertEquals("STUDENT", first.get("senderRole").asText());
+        assertEquals("2025-01-01T04:30:00Z", first.get("createdAt").asText());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("Refunded \"today\"", second.get("content").asText());
+    }
+
+    @Test
+    public void everyFormat_writesAllAttachments() throws Exception {
+        IssueMessage withFiles = message(Role.STUDENT, "Receipts attached", "2025-01-01T04:30:00Z");
+        withFiles.setAttachments(List.of(
+                new UploadedFileRef("f1", "receipt.pdf", "application/pdf"),
+                new UploadedFileRef("f2", "bank <slip>.png", "image/png")));
+        List<IssueMessage> withAttachments = List.of(withFiles);
+
+        String text = write(TranscriptFormat.TXT, withAttachments);
+        assertTrue(text.contains("Receipts attached [attachment: receipt.pdf] [attachment: bank <slip>.png]\n"));
+
+        String html = write(TranscriptFormat.HTML, withAttachments);
+        assertTrue(html.contains("<i>[attachment: receipt.pdf]</i> <i>[attachment: bank &lt;slip&gt;.png]</i>"));
+
+        JsonNode line = objectMapper.readTree(write(TranscriptFormat.JSONL, withAttachments).split("\n")[0]);
+        JsonNode attachments = line.get("attachments");
+        assertEquals(2, attachments.size());
+        assertEquals("f1", attachments.get(0).get("fileId").asText());
+        assertEquals("bank <slip>.png", attachments.get(1).get("fileName").asText());
+    }
+
+    private String write(TranscriptFormat format) throws Exception {
+        return write(format, messages);
+    }
+
+    private String write(TranscriptFormat format, List<IssueMessage> messages) throws Exception {
+        StringWriter out = new StringWriter();
+        TranscriptWriter writer = TranscriptWriter.create(format, out, objectMapper);
+        writer.writeHeader(issue);
+        for (IssueMessage m : messages) {
+            writer.writeMessage(m, m.getSenderRole() == Role.ADMIN ? "Admin" : "Student");
+        }
+        writer.writeFooter();
+        return out.toString();
+    }
+
+    private IssueMessage message(Role role, String content, String createdAt) {
+        return IssueMessage.builder()
+                .id(UUID.randomUUID())
+                .issueId(issue.getId())
+                .senderId(UUID.randomUUID())
+                .senderRole(role)
+                .content(content)
+                .createdAt(Instant.parse(createdAt))
+                .build();
+    }
+}